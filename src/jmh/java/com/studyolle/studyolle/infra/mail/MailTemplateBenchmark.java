@@ -0,0 +1,67 @@
+package com.studyolle.studyolle.infra.mail;
+
+import com.studyolle.studyolle.infra.config.AppProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.concurrent.TimeUnit;
+
+//수신자 한 명당 메일 본문을 만드는 비용. ./gradlew jmh 로 실행한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MailTemplateBenchmark {
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplate mailTemplate;
+
+    private int recipient;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+
+        AppProperties appProperties = new AppProperties();
+        appProperties.setHost("http://localhost:8080");
+        mailTemplate = new MailTemplates(templateEngine, appProperties)
+                .simpleLink("/study/spring", "스프링 스터디", "새로운 스터디가 생겼습니다.");
+    }
+
+    @Benchmark
+    public String processPerRecipient() {
+        Context context = new Context();
+        context.setVariable("nickname", "user" + recipient++);
+        context.setVariable("link", "/study/spring");
+        context.setVariable("linkName", "스프링 스터디");
+        context.setVariable("message", "새로운 스터디가 생겼습니다.");
+        context.setVariable("host", "http://localhost:8080");
+        return templateEngine.process("mail/simple-link", context);
+    }
+
+    @Benchmark
+    public String renderOnceAndSplice() {
+        return mailTemplate.render("user" + recipient++);
+    }
+}
@@ -1,29 +1,88 @@
 package com.studyolle.studyolle.infra.config;
 
-import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.AsyncConfigurer;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
 
+//용도별 스레드 풀. @Async는 쓰지 않고 각 빈이 필요한 풀을 이름으로 주입받아 직접 넘긴다.
 @Configuration
-@EnableAsync
-@Slf4j
-public class AsyncConfig implements AsyncConfigurer {
+@RequiredArgsConstructor
+public class AsyncConfig {
 
-    @Override
-    public Executor getAsyncExecutor() {
+    private final ExecutorProperties executorProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    //SMTP 발송 전용. 스레드 수만큼 SMTP 연결을 동시에 연다.
+    @Bean
+    public ThreadPoolTaskExecutor emailExecutor() {
+        return createExecutor("email", executorProperties.getEmail());
+    }
+
+    //새 스터디 알림처럼 수신자가 많은 팬아웃 전용.
+    @Bean
+    public ThreadPoolTaskExecutor fanOutExecutor() {
+        return createExecutor("fanOut", executorProperties.getFanOut());
+    }
+
+    //SSE 전송용. 연결마다 스레드를 두지 않고 보낼 이벤트가 있을 때만 이 풀에서 잠깐 쓴다.
+    @Bean
+    public ThreadPoolTaskExecutor pushExecutor() {
+        return createExecutor("push", executorProperties.getPush());
+    }
+
+    //업로드한 이미지의 축소본 생성용. 디코딩이 메모리를 많이 쓰므로 작게 유지한다.
+    @Bean
+    public ThreadPoolTaskExecutor imageExecutor() {
+        return createExecutor("image", executorProperties.getImage());
+    }
+
+    //큐 길이, 실행 중인 스레드 수 같은 executor.* 게이지는 스프링 부트가 빈 이름을 name 태그로 달아 등록한다.
+    //여기서는 부트가 내보내지 않는 큐 대기/실행 시간과 거절 횟수만 같은 name 태그로 더한다.
+    private ThreadPoolTaskExecutor createExecutor(String name, ExecutorProperties.Pool pool) {
+        String beanName = name + "Executor";
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        int processors = Runtime.getRuntime().availableProcessors();
-        log.info("processor count {}", processors);
-        executor.setCorePoolSize(processors);
-        executor.setMaxPoolSize(processors * 2);
-        executor.setQueueCapacity(50);
+        executor.setCorePoolSize(pool.getCorePoolSize());
+        executor.setMaxPoolSize(pool.getMaxPoolSize());
+        executor.setQueueCapacity(pool.getQueueCapacity());
         executor.setKeepAliveSeconds(60);
-        executor.setThreadNamePrefix("AsyncExecutor-");
-        executor.initialize();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setRejectedExecutionHandler(countRejections(beanName, pool.getOverflowPolicy()));
+        executor.setTaskDecorator(recordLatency(beanName));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
         return executor;
     }
+
+    private RejectedExecutionHandler countRejections(String name, ExecutorProperties.OverflowPolicy overflowPolicy) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .tag("name", name)
+                .tag("policy", overflowPolicy.name())
+                .register(meterRegistry);
+        RejectedExecutionHandler handler = overflowPolicy.toHandler();
+        return (runnable, threadPoolExecutor) -> {
+            rejected.increment();
+            handler.rejectedExecution(runnable, threadPoolExecutor);
+        };
+    }
+
+    private TaskDecorator recordLatency(String name) {
+        Timer queueWait = Timer.builder("executor.queue.wait").tag("name", name).register(meterRegistry);
+        Timer execution = Timer.builder("executor.execution").tag("name", name).register(meterRegistry);
+        return runnable -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                execution.record(runnable);
+            };
+        };
+    }
 }
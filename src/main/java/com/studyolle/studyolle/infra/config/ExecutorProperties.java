@@ -0,0 +1,68 @@
+package com.studyolle.studyolle.infra.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Data
+@Component
+@ConfigurationProperties("app.executors")
+public class ExecutorProperties {
+
+    private static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+    private Pool email = new Pool(2, 2, 500, OverflowPolicy.CALLER_RUNS);
+
+    private Pool fanOut = new Pool(2, 2, 100, OverflowPolicy.CALLER_RUNS);
+
+    private Pool push = new Pool(PROCESSORS, PROCESSORS, 10_000, OverflowPolicy.ABORT);
+
+    private Pool image = new Pool(2, 2, 100, OverflowPolicy.ABORT);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        private int corePoolSize;
+
+        private int maxPoolSize;
+
+        private int queueCapacity;
+
+        private OverflowPolicy overflowPolicy;
+    }
+
+    //큐가 가득 찼을 때 처리 방법. 잃으면 안 되는 작업은 outbox나 팬아웃 체크포인트처럼 DB에 먼저 남긴 뒤 풀에 넘긴다.
+    public enum OverflowPolicy {
+
+        //호출한 스레드가 직접 실행해서 생산 속도를 늦춘다.
+        CALLER_RUNS {
+            @Override
+            RejectedExecutionHandler toHandler() {
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            }
+        },
+        //버린 사실을 호출한 쪽이 알 수 없으므로, 잃어도 아무 문제 없는 작업에만 쓴다.
+        DISCARD {
+            @Override
+            RejectedExecutionHandler toHandler() {
+                return new ThreadPoolExecutor.DiscardPolicy();
+            }
+        },
+        //RejectedExecutionException을 던져서, 호출한 쪽이 버려진 작업을 알고 다시 시도할 수 있게 한다.
+        ABORT {
+            @Override
+            RejectedExecutionHandler toHandler() {
+                return new ThreadPoolExecutor.AbortPolicy();
+            }
+        };
+
+        abstract RejectedExecutionHandler toHandler();
+    }
+}
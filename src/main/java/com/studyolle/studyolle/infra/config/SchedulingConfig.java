@@ -0,0 +1,12 @@
+package com.studyolle.studyolle.infra.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//스케줄 작업을 직접 호출해서 확인하는 테스트는 app.scheduling.enabled=false로 꺼 둔다.
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "app.scheduling", name = "enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
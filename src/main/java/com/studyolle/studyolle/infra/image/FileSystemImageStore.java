@@ -0,0 +1,108 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+
+@Component
+@RequiredArgsConstructor
+public class FileSystemImageStore implements ImageStore {
+
+    static final Pattern KEY = Pattern.compile("[0-9a-f]{64}(-[a-z]+)?\\.[a-z]{3,4}");
+
+    private final ImageProperties imageProperties;
+
+    @Override
+    public String save(InputStream content, String extension) throws IOException {
+        Path tmp = createTempFile();
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            String key = String.format("%064x", new BigInteger(1, digest.digest())) + "." + extension;
+            Path target = resolve(key);
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException ignored) {
+                    //같은 이미지를 동시에 올린 경우라 먼저 저장된 파일을 그대로 쓴다.
+                }
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public void put(String key, InputStream content) throws IOException {
+        Path target = resolve(key);
+        Path tmp = createTempFile();
+        try {
+            Files.copy(content, tmp, StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(target.getParent());
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return KEY.matcher(key).matches() && Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public ReadableByteChannel open(String key) throws IOException {
+        return FileChannel.open(resolve(key), StandardOpenOption.READ);
+    }
+
+    //키를 그대로 경로로 쓰기 때문에 형식이 맞지 않으면 디렉터리 밖을 가리키지 못하게 막는다.
+    private Path resolve(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("잘못된 이미지 키입니다. " + key);
+        }
+        return root().resolve(key.substring(0, 2)).resolve(key);
+    }
+
+    //다른 요청이 저장 중인 파일을 읽지 않도록 같은 파일 시스템의 임시 파일에 쓴 뒤 옮긴다.
+    private Path createTempFile() throws IOException {
+        Path tmpDir = Files.createDirectories(root().resolve("tmp"));
+        return Files.createTempFile(tmpDir, "upload-", ".tmp");
+    }
+
+    private Path root() {
+        return Paths.get(imageProperties.getDirectory());
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties("app.images")
+public class ImageProperties {
+
+    private String directory = System.getProperty("user.home") + "/studyolle/images";
+
+}
@@ -0,0 +1,127 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+public class ImageService {
+
+    public static final String URL_PREFIX = "/images/stored/";
+
+    private static final Pattern DATA_URL = Pattern.compile("^data:image/(png|jpeg|gif|webp);base64,");
+
+
+    private final ImageStore imageStore;
+    private final ImageVariantGenerator imageVariantGenerator;
+
+    public static String url(String key) {
+        return key != null ? URL_PREFIX + key : null;
+    }
+
+    public static String url(String key, ImageVariant variant) {
+        if (key == null) {
+            return null;
+        }
+        return ImageVariantGenerator.hasVariants(key) ? URL_PREFIX + variant.keyOf(key) : URL_PREFIX + key;
+    }
+
+    public static boolean isDataUrl(String value) {
+        return value != null && value.startsWith("data:");
+    }
+
+    //폼에서 넘어온 값(새 data URL, 기존 이미지나 축소본 URL, 빈 값)을 저장소 키로 바꾼다.
+    public String toKey(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        if (isDataUrl(value)) {
+            return saveDataUrl(value);
+        }
+        if (value.startsWith(URL_PREFIX)) {
+            String key = ImageVariant.originalKeyOf(value.substring(URL_PREFIX.length()));
+            if (imageStore.exists(key)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 이미지입니다.");
+    }
+
+    public String saveDataUrl(String dataUrl) {
+        Matcher matcher = DATA_URL.matcher(dataUrl);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+        }
+
+        String extension = matcher.group(1).equals("jpeg") ? "jpg" : matcher.group(1);
+        byte[] bytes = dataUrl.getBytes(StandardCharsets.US_ASCII);
+        try (InputStream in = Base64.getDecoder().wrap(new ByteArrayInputStream(bytes, matcher.end(), bytes.length - matcher.end()))) {
+            return store(in, extension);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //multipart 업로드는 임시 파일에서 바로 저장소로 흘려 보내고, 형식은 클라이언트가 보낸 값 대신 파일 앞부분으로 판단한다.
+    public String save(MultipartFile file) {
+        try (InputStream in = new BufferedInputStream(file.getInputStream())) {
+            in.mark(12);
+            byte[] header = in.readNBytes(12);
+            in.reset();
+
+            String extension = extensionOf(header);
+            if (extension == null) {
+                throw new IllegalArgumentException("지원하지 않는 이미지 형식입니다.");
+            }
+            return store(in, extension);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String store(InputStream in, String extension) throws IOException {
+        String key = imageStore.save(in, extension);
+        imageVariantGenerator.generateLater(key);
+        return key;
+    }
+
+    private String extensionOf(byte[] header) {
+        if (startsWith(header, 0, (byte) 0x89, 'P', 'N', 'G')) {
+            return "png";
+        }
+        if (startsWith(header, 0, (byte) 0xFF, (byte) 0xD8, (byte) 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8')) {
+            return "gif";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
+        }
+        return null;
+    }
+
+    private boolean startsWith(byte[] header, int offset, int... magic) {
+        if (header.length < offset + magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (header[offset + i] != (byte) magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package com.studyolle.studyolle.infra.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+
+public interface ImageStore {
+
+    //내용의 해시로 키를 만들기 때문에 같은 이미지는 한 번만 저장된다.
+    String save(InputStream content, String extension) throws IOException;
+
+    //축소본처럼 키를 이미 알고 있는 파일을 저장한다.
+    void put(String key, InputStream content) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    ReadableByteChannel open(String key) throws IOException;
+
+}
@@ -0,0 +1,44 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImageVariant {
+
+    //스터디 배너처럼 화면 너비로 보여줄 때
+    LARGE("large", 1300),
+
+    //스터디 카드, 프로필 사진처럼 작게 보여줄 때
+    THUMBNAIL("thumb", 400);
+
+    private static final Pattern SUFFIX = Pattern.compile("-[a-z]+(?=\\.[a-z]+$)");
+
+    private final String suffix;
+
+    private final int maxWidth;
+
+    public String keyOf(String key) {
+        int dot = key.lastIndexOf('.');
+        return key.substring(0, dot) + "-" + suffix + key.substring(dot);
+    }
+
+    //축소본 이름 규칙에 맞는 키인지 확인한다. 아무 접미사나 받으면 없는 축소본 요청마다 원본을 다시 줄이게 된다.
+    public static boolean isVariantKey(String key) {
+        Matcher matcher = SUFFIX.matcher(key);
+        if (!matcher.find()) {
+            return false;
+        }
+        String suffix = matcher.group().substring(1);
+        return Arrays.stream(values()).anyMatch(variant -> variant.suffix.equals(suffix));
+    }
+
+    public static String originalKeyOf(String key) {
+        return SUFFIX.matcher(key).replaceFirst("");
+    }
+}
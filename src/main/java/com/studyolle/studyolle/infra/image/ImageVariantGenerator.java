@@ -0,0 +1,134 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+//원본을 저장한 뒤 축소본을 백그라운드에서 만든다. 축소본이 없으면 StoredImageController가 원본을 대신 내려주고 다시 만들게 한다.
+//작업이 거절되거나 재시작으로 사라져도 다음 요청에서 다시 만들어진다.
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    //압축을 풀면 수백 MB가 되는 이미지는 디코딩하지 않는다.
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ImageStore imageStore;
+    private final Executor imageExecutor;
+    //같은 이미지를 여러 요청이 동시에 다시 만들지 않도록 만드는 중인 키를 기억한다.
+    private final Set<String> generating = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantGenerator(ImageStore imageStore, @Qualifier("imageExecutor") Executor imageExecutor) {
+        this.imageStore = imageStore;
+        this.imageExecutor = imageExecutor;
+    }
+
+    //gif, webp는 움직이는 이미지일 수 있어서 축소본을 만들지 않고 원본을 그대로 쓴다.
+    public static boolean hasVariants(String key) {
+        return formatOf(key) != null;
+    }
+
+    public void generateLater(String key) {
+        if (!hasVariants(key) || !generating.add(key)) {
+            return;
+        }
+        try {
+            imageExecutor.execute(() -> {
+                try {
+                    generate(key);
+                } finally {
+                    generating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            generating.remove(key);
+            log.warn("image variant generation rejected for {}, will retry on next request", key);
+        }
+    }
+
+    void generate(String key) {
+        String format = formatOf(key);
+        if (format == null) {
+            return;
+        }
+
+        BufferedImage source = null;
+        try {
+            source = read(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("failed to decode image {}", key, e);
+        }
+
+        //읽을 수 없거나 너무 큰 이미지는 원본을 축소본 자리에 그대로 둬서 요청마다 다시 만들지 않게 한다.
+        try {
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (source == null || source.getWidth() <= variant.getMaxWidth()) {
+                    try (InputStream original = Channels.newInputStream(imageStore.open(key))) {
+                        imageStore.put(variant.keyOf(key), original);
+                    }
+                    continue;
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(resize(source, variant.getMaxWidth(), format.equals("png")), format, out);
+                imageStore.put(variant.keyOf(key), new ByteArrayInputStream(out.toByteArray()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("failed to generate image variants for {}", key, e);
+        }
+    }
+
+    private static String formatOf(String key) {
+        return key.endsWith(".png") ? "png" : key.endsWith(".jpg") ? "jpg" : null;
+    }
+
+    private BufferedImage read(String key) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(Channels.newInputStream(imageStore.open(key)))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    log.warn("image {} is too large to resize", key);
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage resize(BufferedImage source, int width, boolean alpha) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage resized = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+}
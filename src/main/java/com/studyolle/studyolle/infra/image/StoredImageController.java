@@ -0,0 +1,93 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+
+//정적 리소스 경로(/images/**) 아래에 있어서 시큐리티 필터를 거치지 않는다.
+@Controller
+@RequiredArgsConstructor
+public class StoredImageController {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "png", "image/png", "jpg", "image/jpeg", "gif", "image/gif", "webp", "image/webp");
+
+    private final ImageStore imageStore;
+
+    private final ImageVariantGenerator imageVariantGenerator;
+
+    @GetMapping(ImageService.URL_PREFIX + "{key:.+}")
+    public void image(@PathVariable String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String contentType = CONTENT_TYPES.get(key.substring(key.lastIndexOf('.') + 1));
+        if (contentType == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String storedKey = key;
+        boolean immutable = true;
+        if (!imageStore.exists(key)) {
+            if (!ImageVariant.isVariantKey(key)) {
+                response.sendError(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            storedKey = ImageVariant.originalKeyOf(key);
+            if (!imageStore.exists(storedKey)) {
+                response.sendError(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            //축소본을 아직 만들지 못했으면 다시 만들게 하고, 그동안 원본을 캐시하지 않게 내려줘서 다음 요청에 축소본을 받게 한다.
+            //축소본을 만들지 않는 형식이면 원본이 곧 최종본이다.
+            if (ImageVariantGenerator.hasVariants(storedKey)) {
+                imageVariantGenerator.generateLater(storedKey);
+                immutable = false;
+            }
+        }
+
+        if (immutable) {
+            //키가 곧 내용의 해시라서 한번 내려준 이미지는 바뀌지 않는다.
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+            if (new ServletWebRequest(request, response).checkNotModified("\"" + key.substring(0, key.indexOf('.')) + "\"")) {
+                return;
+            }
+        } else {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+
+        response.setContentType(contentType);
+        response.setContentLengthLong(imageStore.size(storedKey));
+        try (ReadableByteChannel in = imageStore.open(storedKey)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            if (in instanceof FileChannel) {
+                FileChannel file = (FileChannel) in;
+                long position = 0, size = file.size();
+                while (position < size) {
+                    position += file.transferTo(position, size - position, out);
+                }
+            } else {
+                ByteBuffer buffer = ByteBuffer.allocate(8192);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+        }
+    }
+}
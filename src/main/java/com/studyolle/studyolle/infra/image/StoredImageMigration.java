@@ -0,0 +1,69 @@
+package com.studyolle.studyolle.infra.image;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+
+//예전에 data URL로 DB에 들고 있던 배너와 프로필 이미지를 이미지 저장소로 옮긴다.
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class StoredImageMigration {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ImageService imageService;
+
+    @PostConstruct
+    public void migrate() {
+        migrate("study", "image", "image_key");
+        migrate("account", "profile_image", "profile_image_key");
+    }
+
+    private void migrate(String table, String column, String keyColumn) {
+        Integer exists = jdbcTemplate.queryForObject("SELECT count(*) FROM information_schema.columns " +
+                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?", Integer.class, table, column);
+        if (exists == null || exists == 0) {
+            return;
+        }
+
+        //@Lob String은 PostgreSQL에서 large object의 oid가 들어가 있으므로 본문을 꺼내서 읽는다.
+        String select = "SELECT id, " + column + " AS oid, CASE WHEN " + column + " ~ '^[0-9]+$' " +
+                "THEN convert_from(lo_get(" + column + "::oid), 'UTF8') ELSE " + column + " END AS data " +
+                "FROM " + table + " WHERE " + column + " IS NOT NULL ORDER BY id LIMIT " + BATCH_SIZE;
+        int migrated = 0;
+        List<Map<String, Object>> rows;
+        while (!(rows = jdbcTemplate.queryForList(select)).isEmpty()) {
+            for (Map<String, Object> row : rows) {
+                String data = (String) row.get("data");
+                String key = ImageService.isDataUrl(data) ? saveQuietly(data) : null;
+                jdbcTemplate.update("UPDATE " + table + " SET " + keyColumn + " = ?, " + column + " = NULL WHERE id = ?",
+                        key, row.get("id"));
+                if (!data.equals(row.get("oid"))) {
+                    jdbcTemplate.queryForList("SELECT lo_unlink(?::oid)", row.get("oid"));
+                }
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            log.info("moved {} {}.{} values to the image store", migrated, table, column);
+        }
+    }
+
+    private String saveQuietly(String dataUrl) {
+        try {
+            return imageService.saveDataUrl(dataUrl);
+        } catch (IllegalArgumentException e) {
+            log.warn("skipping unsupported image: {}", e.getMessage());
+            return null;
+        }
+    }
+}
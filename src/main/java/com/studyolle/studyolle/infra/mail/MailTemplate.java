@@ -0,0 +1,34 @@
+package com.studyolle.studyolle.infra.mail;
+
+import org.springframework.web.util.HtmlUtils;
+
+//수신자마다 다른 닉네임 자리만 비워 둔 채로 한 번 렌더링한 메일 본문.
+//수신자별 본문은 조각 사이에 이스케이프한 닉네임을 끼워 넣기만 한다.
+public class MailTemplate {
+
+    static final String NICKNAME_PLACEHOLDER = "@@studyolle-nickname@@";
+
+    private final String[] fragments;
+
+    MailTemplate(String rendered) {
+        this.fragments = rendered.split(NICKNAME_PLACEHOLDER, -1);
+    }
+
+    public String render(String nickname) {
+        String escapedNickname = HtmlUtils.htmlEscape(nickname == null ? "" : nickname);
+        StringBuilder message = new StringBuilder(fragments.length * escapedNickname.length() + length());
+        message.append(fragments[0]);
+        for (int i = 1; i < fragments.length; i++) {
+            message.append(escapedNickname).append(fragments[i]);
+        }
+        return message.toString();
+    }
+
+    private int length() {
+        int length = 0;
+        for (String fragment : fragments) {
+            length += fragment.length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,25 @@
+package com.studyolle.studyolle.infra.mail;
+
+import com.studyolle.studyolle.infra.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+@Component
+@RequiredArgsConstructor
+public class MailTemplates {
+
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+
+    public MailTemplate simpleLink(String link, String linkName, String message) {
+        Context context = new Context();
+        context.setVariable("nickname", MailTemplate.NICKNAME_PLACEHOLDER);
+        context.setVariable("link", link);
+        context.setVariable("linkName", linkName);
+        context.setVariable("message", message);
+        context.setVariable("host", appProperties.getHost());
+        return new MailTemplate(templateEngine.process("mail/simple-link", context));
+    }
+}
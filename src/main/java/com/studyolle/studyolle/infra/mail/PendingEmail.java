@@ -0,0 +1,59 @@
+package com.studyolle.studyolle.infra.mail;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+//발송 대기 중인 메일. 보내면 지우고, 끝내 실패하면 DEAD 상태로 남겨 두고 따로 확인한다.
+@Entity
+@Table(indexes = @Index(name = "pending_email_due_idx", columnList = "status, next_attempt_at"))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+public class PendingEmail {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "text")
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private int attempts;
+
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdDateTime;
+
+    private String lastError;
+
+    public enum Status {
+        PENDING, DEAD
+    }
+
+    public static PendingEmail from(EmailMessage emailMessage) {
+        PendingEmail pendingEmail = new PendingEmail();
+        pendingEmail.setRecipient(emailMessage.getTo());
+        pendingEmail.setSubject(emailMessage.getSubject());
+        pendingEmail.setMessage(emailMessage.getMessage());
+        pendingEmail.setStatus(Status.PENDING);
+        pendingEmail.setCreatedDateTime(LocalDateTime.now());
+        pendingEmail.setNextAttemptAt(pendingEmail.getCreatedDateTime());
+        return pendingEmail;
+    }
+
+    public void recordFailure(Exception e, LocalDateTime nextAttemptAt, boolean dead) {
+        this.attempts++;
+        this.nextAttemptAt = nextAttemptAt;
+        this.status = dead ? Status.DEAD : Status.PENDING;
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        this.lastError = error.length() > 255 ? error.substring(0, 255) : error;
+    }
+}
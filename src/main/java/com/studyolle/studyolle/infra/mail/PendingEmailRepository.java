@@ -0,0 +1,21 @@
+package com.studyolle.studyolle.infra.mail;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface PendingEmailRepository extends JpaRepository<PendingEmail, Long> {
+
+    //서버가 여러 대여도 같은 메일을 두 번 가져가지 않도록 잠긴 행은 건너뛴다.
+    @Transactional
+    @Query(value = "SELECT * FROM pending_email WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :size FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<PendingEmail> findDueForUpdate(@Param("now") LocalDateTime now, @Param("size") int size);
+
+    long countByStatus(PendingEmail.Status status);
+}
@@ -0,0 +1,21 @@
+package com.studyolle.studyolle.infra.mail;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+//메일을 바로 보내지 않고 대기 테이블에 넣는다. 호출한 트랜잭션이 롤백되면 메일도 나가지 않는다.
+@Profile("dev")
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class QueuedEmailService implements EmailService {
+
+    private final PendingEmailRepository pendingEmailRepository;
+
+    @Override
+    public void sendEmail(EmailMessage emailMessage) {
+        pendingEmailRepository.save(PendingEmail.from(emailMessage));
+    }
+}
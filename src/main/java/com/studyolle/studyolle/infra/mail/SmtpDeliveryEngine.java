@@ -0,0 +1,177 @@
+package com.studyolle.studyolle.infra.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//대기 테이블의 메일을 모아서 보낸다.
+//JavaMailSender.send(MimeMessage...)는 SMTP 연결 하나로 여러 통을 보내므로, 묶음을 emailExecutor 스레드 수만큼 나눠 동시에 보낸다.
+//SMTP 응답은 emailExecutor에서 기다리고, 스케줄러 스레드는 메일을 가져가 넘기기만 하고 바로 돌아간다.
+@Slf4j
+@Profile("dev")
+@Component
+public class SmtpDeliveryEngine {
+
+    static final int BATCH_SIZE = 200;
+    static final int MESSAGES_PER_CONNECTION = 50;
+    static final int MAX_ATTEMPTS = 8;
+    static final Duration BASE_DELAY = Duration.ofSeconds(30);
+    static final Duration MAX_DELAY = Duration.ofHours(1);
+    //가져간 메일은 이 시간 동안 다른 서버가 다시 가져가지 않는다.
+    static final Duration LEASE = Duration.ofMinutes(5);
+
+    private final PendingEmailRepository pendingEmailRepository;
+    private final JavaMailSender javaMailSender;
+    private final Executor emailExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    //이전 묶음을 보내는 중이면 다음 실행은 건너뛴다.
+    private final AtomicBoolean delivering = new AtomicBoolean();
+
+    public SmtpDeliveryEngine(PendingEmailRepository pendingEmailRepository, JavaMailSender javaMailSender,
+                              @Qualifier("emailExecutor") Executor emailExecutor,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.pendingEmailRepository = pendingEmailRepository;
+        this.javaMailSender = javaMailSender;
+        this.emailExecutor = emailExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = meterRegistry.counter("mail.sent");
+        this.failedCounter = meterRegistry.counter("mail.failed");
+        Gauge.builder("mail.pending", pendingEmailRepository, r -> r.countByStatus(PendingEmail.Status.PENDING))
+                .register(meterRegistry);
+        Gauge.builder("mail.dead", pendingEmailRepository, r -> r.countByStatus(PendingEmail.Status.DEAD))
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 500)
+    public void deliver() {
+        if (delivering.compareAndSet(false, true)) {
+            deliverBatch();
+        }
+    }
+
+    //묶음을 다 보내고 나서, 가득 찬 묶음이었으면 남은 메일을 이어서 가져간다.
+    private void deliverBatch() {
+        List<PendingEmail> emails;
+        try {
+            emails = claim();
+        } catch (RuntimeException e) {
+            log.error("failed to claim pending emails", e);
+            delivering.set(false);
+            return;
+        }
+        if (emails.isEmpty()) {
+            delivering.set(false);
+            return;
+        }
+
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += MESSAGES_PER_CONNECTION) {
+            List<PendingEmail> part = emails.subList(from, Math.min(from + MESSAGES_PER_CONNECTION, emails.size()));
+            connections.add(CompletableFuture.runAsync(() -> send(part), emailExecutor));
+        }
+        CompletableFuture.allOf(connections.toArray(CompletableFuture[]::new)).whenComplete((result, e) -> {
+            if (e != null) {
+                //결과를 남기지 못한 메일은 LEASE가 지나면 다시 가져간다.
+                log.error("failed to finish email batch", e);
+            }
+            if (emails.size() == BATCH_SIZE) {
+                deliverBatch();
+            } else {
+                delivering.set(false);
+            }
+        });
+    }
+
+    private List<PendingEmail> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<PendingEmail> emails = pendingEmailRepository.findDueForUpdate(now, BATCH_SIZE);
+            emails.forEach(email -> email.setNextAttemptAt(now.plus(LEASE)));
+            return emails;
+        });
+    }
+
+    private void send(List<PendingEmail> emails) {
+        Map<MimeMessage, PendingEmail> messages = new LinkedHashMap<>();
+        Map<PendingEmail, Exception> failures = new HashMap<>();
+        emails.forEach(email -> {
+            try {
+                messages.put(createMimeMessage(email), email);
+            } catch (MessagingException e) {
+                failures.put(email, e);
+            }
+        });
+
+        try {
+            if (!messages.isEmpty()) {
+                javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+            }
+        } catch (MailSendException e) {
+            //연결 자체가 실패하면 실패한 메일 목록이 비어 있으므로 묶음 전체를 실패로 본다.
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(email -> failures.put(email, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failures.put(messages.get(message), cause));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(email -> failures.put(email, e));
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        emails.stream().filter(email -> !failures.containsKey(email)).forEach(email -> sentIds.add(email.getId()));
+        sentCounter.increment(sentIds.size());
+        failedCounter.increment(failures.size());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            pendingEmailRepository.deleteAllByIdInBatch(sentIds);
+            failures.forEach((email, cause) -> pendingEmailRepository.findById(email.getId())
+                    .ifPresent(pendingEmail -> retryLater(pendingEmail, cause)));
+        });
+    }
+
+    private void retryLater(PendingEmail pendingEmail, Exception cause) {
+        boolean dead = pendingEmail.getAttempts() + 1 >= MAX_ATTEMPTS;
+        Duration delay = BASE_DELAY.multipliedBy(1L << Math.min(pendingEmail.getAttempts(), 20));
+        pendingEmail.recordFailure(cause, LocalDateTime.now().plus(delay.compareTo(MAX_DELAY) > 0 ? MAX_DELAY : delay), dead);
+        if (dead) {
+            log.error("gave up sending email {} to {}", pendingEmail.getId(), pendingEmail.getRecipient(), cause);
+        } else {
+            log.warn("failed to send email {}, retry at {}", pendingEmail.getId(), pendingEmail.getNextAttemptAt());
+        }
+    }
+
+    private MimeMessage createMimeMessage(PendingEmail email) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+        mimeMessageHelper.setTo(email.getRecipient());
+        mimeMessageHelper.setSubject(email.getSubject());
+        mimeMessageHelper.setText(email.getMessage(), true);
+        return mimeMessage;
+    }
+}
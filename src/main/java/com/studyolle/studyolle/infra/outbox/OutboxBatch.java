@@ -0,0 +1,14 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+//한 번에 많이 생기는 이벤트를 묶어서 발행하면 outbox 행도 한꺼번에 저장한다.
+@Getter
+@RequiredArgsConstructor
+public class OutboxBatch {
+
+    private final List<? extends OutboxPublishable> events;
+}
@@ -0,0 +1,64 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(indexes = {
+        @Index(name = "outbox_event_pending_idx", columnList = "published_date_time, id"),
+        @Index(name = "outbox_event_coalesce_idx", columnList = "coalesce_key, published_date_time")})
+@Getter @Setter @EqualsAndHashCode(of = "id")
+public class OutboxEvent {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    private String eventType;
+
+    private Long aggregateId;
+
+    @Column(columnDefinition = "text")
+    private String message;
+
+    private String coalesceKey;
+
+    private LocalDateTime createdDateTime;
+
+    private LocalDateTime dispatchAfter;
+
+    private LocalDateTime publishedDateTime;
+
+    private int attempts;
+
+    //시도 횟수를 다 써서 더 보내지 않는 이벤트. 대기 건수와 지연 지표에서 빼고 따로 센다.
+    @Column(columnDefinition = "boolean default false")
+    private boolean dead;
+
+    private String lastError;
+
+    public static OutboxEvent from(OutboxPublishable event, LocalDateTime dispatchAfter) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setEventType(event.getEventType());
+        outboxEvent.setAggregateId(event.getAggregateId());
+        outboxEvent.setMessage(event.getMessage());
+        outboxEvent.setCoalesceKey(event.getCoalesceKey());
+        outboxEvent.setCreatedDateTime(LocalDateTime.now());
+        outboxEvent.setDispatchAfter(dispatchAfter);
+        return outboxEvent;
+    }
+
+    public void markPublished() {
+        this.publishedDateTime = LocalDateTime.now();
+    }
+
+    public void recordFailure(Exception e, boolean dead) {
+        this.attempts++;
+        this.dead = dead;
+        String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+        this.lastError = error.length() > 255 ? error.substring(0, 255) : error;
+    }
+}
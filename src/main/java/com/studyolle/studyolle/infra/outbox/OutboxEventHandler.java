@@ -0,0 +1,16 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import java.util.List;
+
+//outbox에 쌓인 이벤트를 처리하는 쪽. 같은 이벤트가 두 번 와도 결과가 같도록 만들어야 한다.
+public interface OutboxEventHandler {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxEvent outboxEvent);
+
+    //coalesceKey가 같은 이벤트들을 한꺼번에 받는다. 합치는 방법을 아는 핸들러만 재정의한다.
+    default void handleCoalesced(List<OutboxEvent> outboxEvents) {
+        outboxEvents.forEach(this::handle);
+    }
+}
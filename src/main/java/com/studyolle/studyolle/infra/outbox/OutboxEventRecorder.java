@@ -0,0 +1,50 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+//이벤트를 발행한 서비스의 트랜잭션에 참여해서 함께 커밋되거나 함께 롤백된다.
+@Component
+@RequiredArgsConstructor
+public class OutboxEventRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties outboxProperties;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxPublishable event) {
+        LocalDateTime now = LocalDateTime.now();
+        if (event.getCoalesceKey() == null) {
+            outboxEventRepository.save(OutboxEvent.from(event, now));
+            return;
+        }
+
+        //새 이벤트가 오면 같은 키로 대기 중인 이벤트도 함께 다시 기다린다.
+        LocalDateTime dispatchAfter = now.plus(outboxProperties.getCoalesceWindow());
+        outboxEventRepository.postponeCoalesced(event.getCoalesceKey(), dispatchAfter);
+        outboxEventRepository.save(OutboxEvent.from(event, dispatchAfter));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBatch(OutboxBatch batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> outboxEvents = new ArrayList<>();
+        for (OutboxPublishable event : batch.getEvents()) {
+            if (event.getCoalesceKey() == null) {
+                outboxEvents.add(OutboxEvent.from(event, now));
+            } else {
+                record(event);
+            }
+        }
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+}
@@ -0,0 +1,36 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    //묶어서 보낼 이벤트는 잠잠해질 때까지(dispatchAfter) 기다리지만, 너무 오래 밀리지는 않도록 dueCreatedBefore 이전 것은 바로 보낸다.
+    @Query("select o.id from OutboxEvent o where o.publishedDateTime is null and o.attempts < :maxAttempts " +
+            "and (o.dispatchAfter <= :now or o.createdDateTime <= :dueCreatedBefore) order by o.id")
+    List<Long> findPendingIds(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+                              @Param("dueCreatedBefore") LocalDateTime dueCreatedBefore, Pageable pageable);
+
+    //시도 횟수를 다 쓴 이벤트는 뒤에 오는 이벤트에 섞어 보내지 않는다.
+    List<OutboxEvent> findByCoalesceKeyAndPublishedDateTimeIsNullAndAttemptsLessThanOrderById(String coalesceKey, int maxAttempts);
+
+    @Transactional
+    @Modifying
+    @Query("update OutboxEvent o set o.dispatchAfter = :dispatchAfter where o.coalesceKey = :coalesceKey and o.publishedDateTime is null")
+    void postponeCoalesced(@Param("coalesceKey") String coalesceKey, @Param("dispatchAfter") LocalDateTime dispatchAfter);
+
+    long countByPublishedDateTimeIsNullAndDeadFalse();
+
+    long countByDeadTrue();
+
+    @Query("select min(o.createdDateTime) from OutboxEvent o where o.publishedDateTime is null and o.dead = false")
+    LocalDateTime findOldestPendingCreatedDateTime();
+}
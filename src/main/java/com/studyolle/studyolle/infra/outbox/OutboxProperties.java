@@ -0,0 +1,19 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.outbox")
+public class OutboxProperties {
+
+    //같은 키의 이벤트가 이 시간 동안 더 오지 않으면 모아서 보낸다.
+    private Duration coalesceWindow = Duration.ofMinutes(1);
+
+    //이벤트가 계속 와도 처음 이벤트 뒤 이 시간이 지나면 보낸다.
+    private Duration maxCoalesceDelay = Duration.ofMinutes(10);
+}
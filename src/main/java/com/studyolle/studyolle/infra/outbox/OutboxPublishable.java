@@ -0,0 +1,18 @@
+package com.studyolle.studyolle.infra.outbox;
+
+//이 인터페이스를 구현한 이벤트는 발행한 트랜잭션 안에서 outbox 테이블에 기록되고, 커밋된 뒤 OutboxRelay가 전달한다.
+public interface OutboxPublishable {
+
+    default String getEventType() {
+        return getClass().getSimpleName();
+    }
+
+    Long getAggregateId();
+
+    String getMessage();
+
+    //같은 키로 짧은 시간에 여러 번 발행된 이벤트는 잠잠해질 때까지 기다렸다가 한꺼번에 전달한다.
+    default String getCoalesceKey() {
+        return null;
+    }
+}
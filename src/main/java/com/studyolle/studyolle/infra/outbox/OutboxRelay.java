@@ -0,0 +1,110 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+//커밋된 outbox 이벤트를 id 순서로 가져와 핸들러에 전달한다.
+//핸들러 처리와 발행 완료 표시를 한 트랜잭션으로 묶어서, 실패하면 다음 주기에 다시 시도한다. (at-least-once)
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    static final int BATCH_SIZE = 100;
+    static final int MAX_ATTEMPTS = 10;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxProperties outboxProperties;
+    private final List<OutboxEventHandler> outboxEventHandlers;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer dispatchTimer;
+    private final Counter failureCounter;
+    private final Counter coalescedCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxProperties outboxProperties,
+                       List<OutboxEventHandler> outboxEventHandlers,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxProperties = outboxProperties;
+        this.outboxEventHandlers = outboxEventHandlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dispatchTimer = meterRegistry.timer("outbox.dispatch");
+        this.failureCounter = meterRegistry.counter("outbox.failures");
+        this.coalescedCounter = meterRegistry.counter("outbox.coalesced");
+        Gauge.builder("outbox.pending", outboxEventRepository, OutboxEventRepository::countByPublishedDateTimeIsNullAndDeadFalse)
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead", outboxEventRepository, OutboxEventRepository::countByDeadTrue)
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", this, OutboxRelay::getLagSeconds)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void relay() {
+        List<Long> ids;
+        boolean dispatchedAll;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            ids = outboxEventRepository.findPendingIds(MAX_ATTEMPTS, now, now.minus(outboxProperties.getMaxCoalesceDelay()),
+                    PageRequest.of(0, BATCH_SIZE));
+            dispatchedAll = ids.stream().map(this::dispatch).reduce(true, Boolean::logicalAnd);
+        } while (dispatchedAll && ids.size() == BATCH_SIZE);
+    }
+
+    private boolean dispatch(Long id) {
+        try {
+            dispatchTimer.record(() -> transactionTemplate.executeWithoutResult(status -> {
+                OutboxEvent outboxEvent = outboxEventRepository.findById(id).orElseThrow();
+                if (outboxEvent.getPublishedDateTime() != null) {
+                    return;
+                }
+                if (outboxEvent.getCoalesceKey() == null) {
+                    outboxEventHandlers.stream()
+                            .filter(handler -> handler.supports(outboxEvent.getEventType()))
+                            .forEach(handler -> handler.handle(outboxEvent));
+                    outboxEvent.markPublished();
+                    return;
+                }
+
+                List<OutboxEvent> coalesced = outboxEventRepository.findByCoalesceKeyAndPublishedDateTimeIsNullAndAttemptsLessThanOrderById(
+                        outboxEvent.getCoalesceKey(), MAX_ATTEMPTS);
+                coalescedCounter.increment(coalesced.size() - 1);
+                outboxEventHandlers.stream()
+                        .filter(handler -> handler.supports(outboxEvent.getEventType()))
+                        .forEach(handler -> handler.handleCoalesced(coalesced));
+                coalesced.forEach(OutboxEvent::markPublished);
+            }));
+            return true;
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("failed to dispatch outbox event {}", id, e);
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.findById(id).ifPresent(outboxEvent -> recordFailure(outboxEvent, e)));
+            return false;
+        }
+    }
+
+    private void recordFailure(OutboxEvent outboxEvent, RuntimeException e) {
+        boolean dead = outboxEvent.getAttempts() + 1 >= MAX_ATTEMPTS;
+        outboxEvent.recordFailure(e, dead);
+        if (dead) {
+            log.error("gave up dispatching outbox event {} after {} attempts", outboxEvent.getId(), outboxEvent.getAttempts(), e);
+        }
+    }
+
+    private double getLagSeconds() {
+        LocalDateTime oldest = outboxEventRepository.findOldestPendingCreatedDateTime();
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
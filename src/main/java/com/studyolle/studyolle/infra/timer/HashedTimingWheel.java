@@ -0,0 +1,82 @@
+package com.studyolle.studyolle.infra.timer;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+//마감 시각을 tick 단위로 잘라 원형 버킷에 넣어 두고, tick마다 해당 버킷 하나만 확인한다.
+//바퀴 한 바퀴(tick * wheelSize)보다 먼 마감은 같은 버킷에 남아 있다가 시각이 되었을 때 꺼낸다.
+//한 tick의 비용은 전체 예약 수가 아니라 그 버킷에 든 예약 수에만 비례한다.
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<ArrayDeque<Entry<T>>> buckets;
+    private final int mask;
+
+    //다음에 확인할 tick
+    private long currentTick;
+    private int size;
+
+    public HashedTimingWheel(Duration tick, int wheelSize, long startMillis) {
+        if (tick.toMillis() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tick과 wheelSize는 0보다 커야 합니다.");
+        }
+        this.tickMillis = tick.toMillis();
+        this.startMillis = startMillis;
+        int normalized = Integer.highestOneBit(wheelSize - 1) << 1;
+        int bucketCount = Math.max(normalized, 1);
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new ArrayDeque<>());
+        }
+        this.mask = bucketCount - 1;
+    }
+
+    //이미 지난 마감은 다음 advance에서 바로 꺼낸다.
+    public synchronized void schedule(T value, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+        buckets.get((int) (deadlineTick & mask)).addLast(new Entry<>(deadlineTick, value));
+        size++;
+    }
+
+    //nowMillis까지 마감된 예약을 꺼낸다. 오래 멈춰 있었으면 버킷을 한 바퀴만 훑어서 밀린 예약을 모두 꺼낸다.
+    public synchronized List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        long ticks = Math.min(nowTick - currentTick + 1, buckets.size());
+        for (long i = 0; i < ticks; i++) {
+            expire(buckets.get((int) ((currentTick + i) & mask)), nowTick, expired);
+        }
+        currentTick = Math.max(currentTick, nowTick + 1);
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void expire(ArrayDeque<Entry<T>> bucket, long nowTick, List<T> expired) {
+        for (int i = bucket.size(); i > 0; i--) {
+            Entry<T> entry = bucket.pollFirst();
+            if (entry.deadlineTick <= nowTick) {
+                expired.add(entry.value);
+                size--;
+            } else {
+                bucket.addLast(entry);
+            }
+        }
+    }
+
+    private static class Entry<T> {
+
+        private final long deadlineTick;
+        private final T value;
+
+        private Entry(long deadlineTick, T value) {
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.studyolle.studyolle.modules.account;
 
+import com.studyolle.studyolle.infra.image.ImageService;
+import com.studyolle.studyolle.infra.image.ImageVariant;
 import com.studyolle.studyolle.modules.tag.Tag;
 import com.studyolle.studyolle.modules.study.Study;
 import com.studyolle.studyolle.modules.zone.Zone;
@@ -43,8 +45,8 @@ public class Account {
 
     private String location;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String profileImage;
+    //이미지 본문은 이미지 저장소에 두고 키(내용 해시)만 들고 있는다.
+    private String profileImageKey;
 
     private boolean studyCreatedByEmail;
 
@@ -58,12 +60,19 @@ public class Account {
 
     private boolean studyUpdatedByWeb = true;
 
+    //스터디 생성/소식 메일을 하나씩 보내지 않고 모아서 정해진 시간에 한 번 보낸다.
+    private boolean emailDigest;
+
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
 
     @ManyToMany
     private Set<Zone> zones = new HashSet<>();
 
+    public String getProfileImage() {
+        return ImageService.url(profileImageKey, ImageVariant.THUMBNAIL);
+    }
+
     public void generateEmailCheckToken() {
         this.emailCheckToken = UUID.randomUUID().toString();
         this.emailCheckTokenGeneratedAt = LocalDateTime.now();
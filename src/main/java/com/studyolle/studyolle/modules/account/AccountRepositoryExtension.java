@@ -0,0 +1,14 @@
+package com.studyolle.studyolle.modules.account;
+
+import com.studyolle.studyolle.modules.tag.Tag;
+import com.studyolle.studyolle.modules.zone.Zone;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+@Transactional(readOnly = true)
+public interface AccountRepositoryExtension {
+
+    List<Account> findByTagsAndZonesAfter(Set<Tag> tags, Set<Zone> zones, Long lastAccountId, int size);
+}
@@ -0,0 +1,26 @@
+package com.studyolle.studyolle.modules.account;
+
+import com.studyolle.studyolle.modules.tag.Tag;
+import com.studyolle.studyolle.modules.zone.Zone;
+import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+
+import java.util.List;
+import java.util.Set;
+
+import static com.studyolle.studyolle.modules.account.QAccount.account;
+
+public class AccountRepositoryExtensionImpl extends QuerydslRepositorySupport implements AccountRepositoryExtension {
+
+    public AccountRepositoryExtensionImpl() {
+        super(Account.class);
+    }
+
+    @Override
+    public List<Account> findByTagsAndZonesAfter(Set<Tag> tags, Set<Zone> zones, Long lastAccountId, int size) {
+        return from(account).where(AccountPredicates.findByTagsAndZones(tags, zones),
+                        lastAccountId == null ? null : account.id.gt(lastAccountId))
+                .orderBy(account.id.asc())
+                .limit(size)
+                .fetch();
+    }
+}
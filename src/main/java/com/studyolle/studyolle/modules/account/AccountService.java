@@ -1,6 +1,6 @@
 package com.studyolle.studyolle.modules.account;
 
-import com.studyolle.studyolle.infra.config.AppProperties;
+import com.studyolle.studyolle.modules.account.event.AccountInterestsChangedEvent;
 import com.studyolle.studyolle.modules.account.form.SignUpForm;
 import com.studyolle.studyolle.modules.account.form.Notifications;
 import com.studyolle.studyolle.modules.account.form.Profile;
@@ -8,9 +8,12 @@ import com.studyolle.studyolle.modules.tag.Tag;
 import com.studyolle.studyolle.modules.zone.Zone;
 import com.studyolle.studyolle.infra.mail.EmailMessage;
 import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.infra.mail.MailTemplates;
+import com.studyolle.studyolle.infra.image.ImageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
@@ -21,8 +24,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,8 +40,9 @@ public class AccountService implements UserDetailsService {
     private final EmailService emailService;
     private final PasswordEncoder passwordEncoder;
     private final ModelMapper modelMapper;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
+    private final MailTemplates mailTemplates;
+    private final ImageService imageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Account processNewAccount(SignUpForm signUpForm) {
         Account newAccount = saveNewAccount(signUpForm);
@@ -56,14 +59,9 @@ public class AccountService implements UserDetailsService {
     }
 
     public void sendSignUpConfirmEmail(Account newAccount) {
-        Context context = new Context();
-        context.setVariable("link", "/check-email-token?token=" + newAccount.getEmailCheckToken() +
-                "&email="+newAccount.getEmail());
-        context.setVariable("nickname", newAccount.getNickname());
-        context.setVariable("linkName", "이메일 인증하기");
-        context.setVariable("message", "스터디올래 서비스를 사용하려면 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = mailTemplates.simpleLink("/check-email-token?token=" + newAccount.getEmailCheckToken() +
+                        "&email=" + newAccount.getEmail(), "이메일 인증하기", "스터디올래 서비스를 사용하려면 링크를 클릭하세요.")
+                .render(newAccount.getNickname());
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .to(newAccount.getEmail())
@@ -106,6 +104,9 @@ public class AccountService implements UserDetailsService {
 
     public void updateProfile(Account account, Profile profile) {
         modelMapper.map(profile, account);
+        MultipartFile profileImageFile = profile.getProfileImageFile();
+        account.setProfileImageKey(profileImageFile != null && !profileImageFile.isEmpty()
+                ? imageService.save(profileImageFile) : imageService.toKey(profile.getProfileImage()));
         accountRepository.save(account);
     }
 
@@ -117,6 +118,7 @@ public class AccountService implements UserDetailsService {
     public void updateNotifications(Account account, Notifications notifications) {
         modelMapper.map(notifications, account);
         accountRepository.save(account);
+        login(account);
     }
 
     public void updateNickname(Account account, String nickname) {
@@ -126,14 +128,9 @@ public class AccountService implements UserDetailsService {
     }
 
     public void sendLoginLink(Account account) {
-        Context context = new Context();
-        context.setVariable("link", "/login-by-email?token=" + account.getEmailCheckToken() +
-                "&email="+account.getEmail());
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("linkName", "스터디올래 로그인하기");
-        context.setVariable("message", "로그인하려면 아래 링크를 클릭하세요.");
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+        String message = mailTemplates.simpleLink("/login-by-email?token=" + account.getEmailCheckToken() +
+                        "&email=" + account.getEmail(), "스터디올래 로그인하기", "로그인하려면 아래 링크를 클릭하세요.")
+                .render(account.getNickname());
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .to(account.getEmail())
@@ -147,6 +144,7 @@ public class AccountService implements UserDetailsService {
     public void addTag(Account account, Tag tag) {
         Optional<Account> byId = accountRepository.findById(account.getId());
         byId.ifPresent(a -> a.getTags().add(tag));
+        eventPublisher.publishEvent(new AccountInterestsChangedEvent(account.getId()));
     }
 
     public Set<Tag> getTags(Account account) {
@@ -157,6 +155,7 @@ public class AccountService implements UserDetailsService {
     public void removeTag(Account account, Tag tag) {
         Optional<Account> byId = accountRepository.findById(account.getId());
         byId.ifPresent(a -> a.getTags().remove(tag));
+        eventPublisher.publishEvent(new AccountInterestsChangedEvent(account.getId()));
     }
 
     public Set<Zone> getZones(Account account) {
@@ -167,11 +166,13 @@ public class AccountService implements UserDetailsService {
     public void addZone(Account account, Zone zone){
         Optional<Account> zoneId = accountRepository.findById(account.getId());
         zoneId.ifPresent(a -> a.getZones().add(zone));
+        eventPublisher.publishEvent(new AccountInterestsChangedEvent(account.getId()));
     }
 
     public void removeZone(Account account, Zone zone){
         Optional<Account> zoneId = accountRepository.findById(account.getId());
         zoneId.ifPresent(a -> a.getZones().remove(zone));
+        eventPublisher.publishEvent(new AccountInterestsChangedEvent(account.getId()));
     }
 
     public Account getAccount(String nickname) {
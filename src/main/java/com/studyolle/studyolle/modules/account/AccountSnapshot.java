@@ -0,0 +1,55 @@
+package com.studyolle.studyolle.modules.account;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+//세션에 담는 로그인 사용자 정보. 엔티티 대신 화면과 권한 확인에 필요한 값만 복사해 둔다.
+@Getter
+@EqualsAndHashCode(of = "id")
+public class AccountSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+
+    private final String nickname;
+
+    private final String email;
+
+    private final boolean emailVerified;
+
+    private final boolean studyCreatedByEmail;
+
+    private final boolean studyCreatedByWeb;
+
+    private final boolean studyEnrollmentResultByEmail;
+
+    private final boolean studyEnrollmentResultByWeb;
+
+    private final boolean studyUpdatedByEmail;
+
+    private final boolean studyUpdatedByWeb;
+
+    private final boolean emailDigest;
+
+    public AccountSnapshot(Account account) {
+        this.id = account.getId();
+        this.nickname = account.getNickname();
+        this.email = account.getEmail();
+        this.emailVerified = account.isEmailVerified();
+        this.studyCreatedByEmail = account.isStudyCreatedByEmail();
+        this.studyCreatedByWeb = account.isStudyCreatedByWeb();
+        this.studyEnrollmentResultByEmail = account.isStudyEnrollmentResultByEmail();
+        this.studyEnrollmentResultByWeb = account.isStudyEnrollmentResultByWeb();
+        this.studyUpdatedByEmail = account.isStudyUpdatedByEmail();
+        this.studyUpdatedByWeb = account.isStudyUpdatedByWeb();
+        this.emailDigest = account.isEmailDigest();
+    }
+
+    public boolean isSameAccount(Account account) {
+        return account != null && Objects.equals(this.id, account.getId());
+    }
+}
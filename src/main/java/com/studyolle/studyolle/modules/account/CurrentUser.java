@@ -1,14 +1,12 @@
 package com.studyolle.studyolle.modules.account;
 
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+//Account 파라미터에는 요청마다 읽어 온 엔티티를, AccountSnapshot 파라미터에는 세션의 스냅샷을 넣는다. (CurrentUserArgumentResolver)
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.PARAMETER)
-@AuthenticationPrincipal(expression = "#this == 'anonymousUser' ? null : account")
 public @interface CurrentUser {
 }
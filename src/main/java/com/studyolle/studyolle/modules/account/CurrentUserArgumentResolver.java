@@ -0,0 +1,51 @@
+package com.studyolle.studyolle.modules.account;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String CURRENT_ACCOUNT = CurrentUserArgumentResolver.class.getName() + ".ACCOUNT";
+
+    private final AccountRepository accountRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class) && (type == Account.class || type == AccountSnapshot.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserAccount)) {
+            return null;
+        }
+
+        AccountSnapshot snapshot = ((UserAccount) authentication.getPrincipal()).getAccount();
+        if (parameter.getParameterType() == AccountSnapshot.class) {
+            return snapshot;
+        }
+
+        //엔티티가 필요한 핸들러에서만 읽고, 같은 요청 안에서는 한 번 읽은 것을 다시 쓴다.
+        Account account = (Account) webRequest.getAttribute(CURRENT_ACCOUNT, RequestAttributes.SCOPE_REQUEST);
+        if (account == null) {
+            account = accountRepository.findById(snapshot.getId()).orElse(null);
+            if (account != null) {
+                webRequest.setAttribute(CURRENT_ACCOUNT, account, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        return account;
+    }
+}
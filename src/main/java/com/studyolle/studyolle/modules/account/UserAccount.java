@@ -9,11 +9,11 @@ import java.util.List;
 @Getter
 public class UserAccount extends User {
 
-    private Account account;
+    private final AccountSnapshot account;
 
     public UserAccount(Account account) {
         super(account.getNickname(), account.getPassword(), List.of(new SimpleGrantedAuthority("ROLE_USER")));
-        this.account = account;
+        this.account = new AccountSnapshot(account);
     }
 
 }
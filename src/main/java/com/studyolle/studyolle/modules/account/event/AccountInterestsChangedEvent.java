@@ -0,0 +1,12 @@
+package com.studyolle.studyolle.modules.account.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class AccountInterestsChangedEvent {
+
+    private final Long accountId;
+
+}
@@ -17,4 +17,6 @@ public class Notifications {
 
     private boolean studyUpdatedByWeb;
 
+    private boolean emailDigest;
+
 }
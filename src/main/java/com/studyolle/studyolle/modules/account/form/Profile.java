@@ -2,6 +2,7 @@ package com.studyolle.studyolle.modules.account.form;
 
 import lombok.Data;
 import org.hibernate.validator.constraints.Length;
+import org.springframework.web.multipart.MultipartFile;
 
 @Data
 public class Profile {
@@ -17,4 +18,6 @@ public class Profile {
 
     private String profileImage;
 
+    private MultipartFile profileImageFile;
+
 }
@@ -16,6 +16,8 @@ import java.time.LocalDateTime;
         subgraphs = @NamedSubgraph(name = "study", attributeNodes = @NamedAttributeNode("study"))
 )
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "account_id"}),
+        indexes = @Index(name = "enrollment_waiting_idx", columnList = "event_id, accepted, enrolled_at, id"))
 @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Enrollment {
 
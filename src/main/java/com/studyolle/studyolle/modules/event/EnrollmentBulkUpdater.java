@@ -0,0 +1,74 @@
+package com.studyolle.studyolle.modules.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+//여러 참가 신청의 상태를 한 문장으로 바꾸고 바뀐 신청 id만 돌려준다. 카운터도 같은 문장에서 함께 옮긴다.
+//영속성 컨텍스트를 거치지 않으므로 바뀐 모임 정보는 미리 flush 해 두어야 한다.
+@Component
+@RequiredArgsConstructor
+public class EnrollmentBulkUpdater {
+
+    //event 행을 먼저 잠가서 남은 자리를 계산한다.
+    private static final String SPOTS = "WITH spots AS (" +
+            "SELECT greatest(e.limit_of_enrollments - e.accepted_count, 0) AS n FROM event e WHERE e.id = :eventId FOR UPDATE), ";
+
+    private static final String MOVE_COUNTS = "counted AS (" +
+            "UPDATE event SET accepted_count = accepted_count + :sign * (SELECT count(*) FROM changed), " +
+            "waiting_count = waiting_count - :sign * (SELECT count(*) FROM changed) WHERE id = :eventId) " +
+            "SELECT id FROM changed";
+
+    //다른 트랜잭션이 확정 중인 대기자는 건너뛴다.
+    private static final String PROMOTE_WAITING = SPOTS + "changed AS (" +
+            "UPDATE enrollment SET accepted = true WHERE id IN (" +
+            "SELECT w.id FROM enrollment w WHERE w.event_id = :eventId AND NOT w.accepted " +
+            "ORDER BY w.enrolled_at, w.id LIMIT coalesce((SELECT n FROM spots), 0) FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id), " + MOVE_COUNTS;
+
+    //고른 신청이 남은 자리보다 많으면 먼저 신청한 순서대로 확정한다.
+    private static final String ACCEPT = SPOTS + "changed AS (" +
+            "UPDATE enrollment SET accepted = true WHERE id IN (" +
+            "SELECT w.id FROM enrollment w WHERE w.event_id = :eventId AND w.id IN (:ids) AND NOT w.accepted AND NOT w.attended " +
+            "ORDER BY w.enrolled_at, w.id LIMIT coalesce((SELECT n FROM spots), 0) FOR UPDATE) " +
+            "RETURNING id), " + MOVE_COUNTS;
+
+    private static final String REJECT = "WITH changed AS (" +
+            "UPDATE enrollment SET accepted = false " +
+            "WHERE event_id = :eventId AND id IN (:ids) AND accepted AND NOT attended " +
+            "RETURNING id), " + MOVE_COUNTS;
+
+    //이미 체크인한 신청은 건드리지 않으므로 같은 요청을 여러 번 보내도 결과가 같다.
+    private static final String CHECK_IN = "UPDATE enrollment SET attended = true " +
+            "WHERE event_id = :eventId AND id IN (:ids) AND accepted AND NOT attended RETURNING id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<Long> promoteWaiting(Long eventId) {
+        return jdbcTemplate.queryForList(PROMOTE_WAITING, params(eventId).addValue("sign", 1), Long.class);
+    }
+
+    public List<Long> accept(Long eventId, Collection<Long> enrollmentIds) {
+        return jdbcTemplate.queryForList(ACCEPT, params(eventId, enrollmentIds).addValue("sign", 1), Long.class);
+    }
+
+    public List<Long> reject(Long eventId, Collection<Long> enrollmentIds) {
+        return jdbcTemplate.queryForList(REJECT, params(eventId, enrollmentIds).addValue("sign", -1), Long.class);
+    }
+
+    public List<Long> checkIn(Long eventId, Collection<Long> enrollmentIds) {
+        return jdbcTemplate.queryForList(CHECK_IN, params(eventId, enrollmentIds), Long.class);
+    }
+
+    private MapSqlParameterSource params(Long eventId) {
+        return new MapSqlParameterSource("eventId", eventId);
+    }
+
+    private MapSqlParameterSource params(Long eventId, Collection<Long> enrollmentIds) {
+        return params(eventId).addValue("ids", enrollmentIds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.studyolle.studyolle.modules.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class EnrollmentCountInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    //카운터가 없는 기존 모임은 확정/대기 신청 수로 한번에 채운다.
+    @PostConstruct
+    public void initEnrollmentCounts() {
+        int counted = jdbcTemplate.update("UPDATE event e SET " +
+                "accepted_count = (SELECT count(*) FROM enrollment en WHERE en.event_id = e.id AND en.accepted), " +
+                "waiting_count = (SELECT count(*) FROM enrollment en WHERE en.event_id = e.id AND NOT en.accepted) " +
+                "WHERE e.accepted_count IS NULL OR e.waiting_count IS NULL");
+        if (counted > 0) {
+            log.info("counted enrollments of {} events", counted);
+        }
+    }
+}
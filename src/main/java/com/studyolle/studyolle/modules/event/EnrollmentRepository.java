@@ -3,9 +3,12 @@ package com.studyolle.studyolle.modules.event;
 import com.studyolle.studyolle.modules.account.Account;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Transactional(readOnly = true)
 public interface EnrollmentRepository extends JpaRepository<Enrollment,Long> {
@@ -13,6 +16,21 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment,Long> {
 
     Enrollment findByEventAndAccount(Event event, Account account);
 
+    //대기자 명단은 신청 시각 순서다. 다른 트랜잭션이 확정 중인 대기자는 건너뛴다.
+    @Query(value = "SELECT * FROM enrollment WHERE event_id = :eventId AND NOT accepted " +
+            "ORDER BY enrolled_at, id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Enrollment lockFirstWaitingEnrollment(@Param("eventId") Long eventId);
+
+    //(event_id, account_id) 유니크 인덱스로 한 건만 찾는다. 신청하지 않았으면 비어 있다.
+    @Query("select e.attended from Enrollment e where e.event.id = :eventId and e.account.id = :accountId")
+    Optional<Boolean> findAttendedByEventIdAndAccountId(@Param("eventId") Long eventId, @Param("accountId") Long accountId);
+
+    @Query("select e.accepted from Enrollment e where e.id = :id and e.event.id = :eventId")
+    Optional<Boolean> findAcceptedByIdAndEventId(@Param("id") Long id, @Param("eventId") Long eventId);
+
+    @EntityGraph(attributePaths = "account")
+    List<Enrollment> findByEventIdAndAccepted(Long eventId, boolean accepted);
+
     @EntityGraph("Enrollment.withEventAndStudy")
     List<Enrollment> findByAccountAndAcceptedOrderByEnrolledAtDesc(Account account, boolean accepted);
 }
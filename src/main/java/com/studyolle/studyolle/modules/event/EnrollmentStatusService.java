@@ -0,0 +1,58 @@
+package com.studyolle.studyolle.modules.event;
+
+import com.studyolle.studyolle.modules.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+//모임의 신청 목록을 훑지 않고 (event_id, account_id) 유니크 인덱스로 내 신청 상태만 확인한다.
+//뷰에서 같은 질문을 여러 번 하므로 결과는 요청 안에서만 기억한다.
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class EnrollmentStatusService {
+
+    private static final String CACHE_PREFIX = EnrollmentStatusService.class.getName() + ".";
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    public boolean isEnrollable(Event event, UserAccount userAccount) {
+        return event.isNotClosed() && statusOf(event, userAccount) == Status.NONE;
+    }
+
+    public boolean isDisenrollable(Event event, UserAccount userAccount) {
+        return event.isNotClosed() && statusOf(event, userAccount) == Status.ENROLLED;
+    }
+
+    public boolean isAttended(Event event, UserAccount userAccount) {
+        return statusOf(event, userAccount) == Status.ATTENDED;
+    }
+
+    private Status statusOf(Event event, UserAccount userAccount) {
+        Long accountId = userAccount.getAccount().getId();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return findStatus(event.getId(), accountId);
+        }
+
+        String name = CACHE_PREFIX + event.getId() + ":" + accountId;
+        Status status = (Status) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (status == null) {
+            status = findStatus(event.getId(), accountId);
+            attributes.setAttribute(name, status, RequestAttributes.SCOPE_REQUEST);
+        }
+        return status;
+    }
+
+    private Status findStatus(Long eventId, Long accountId) {
+        return enrollmentRepository.findAttendedByEventIdAndAccountId(eventId, accountId)
+                .map(attended -> attended ? Status.ATTENDED : Status.ENROLLED)
+                .orElse(Status.NONE);
+    }
+
+    private enum Status {
+        NONE, ENROLLED, ATTENDED
+    }
+}
@@ -1,24 +1,21 @@
 package com.studyolle.studyolle.modules.event;
 
 import com.studyolle.studyolle.modules.account.Account;
-import com.studyolle.studyolle.modules.account.UserAccount;
 import com.studyolle.studyolle.modules.study.Study;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-@NamedEntityGraph(
-        name = "Event.withEnrollments",
-        attributeNodes = @NamedAttributeNode("enrollments")
-)
 @Entity
+@Table(indexes = {
+        @Index(name = "event_start_date_time_idx", columnList = "start_date_time, id"),
+        @Index(name = "event_end_enrollment_date_time_idx", columnList = "end_enrollment_date_time, id"),
+        @Index(name = "event_study_end_date_time_idx", columnList = "study_id, end_date_time, id")})
 @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Event {
 
@@ -58,114 +55,47 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private EventType eventType;
 
-    public boolean isEnrollableFor(UserAccount userAccount) {
-        return isNotClosed() && !isAttended(userAccount) && !isAlreadyEnrolled(userAccount);
-    }
+    //확정된 참가자 수와 대기자 수. EventService가 EventRepository의 UPDATE로만 바꾸고 엔티티를 저장할 때는 덮어쓰지 않는다.
+    @Column(updatable = false)
+    private Integer acceptedCount = 0;
 
-    public boolean isDisenrollableFor(UserAccount userAccount){
-        return isNotClosed() && !isAttended(userAccount) && isAlreadyEnrolled(userAccount);
-    }
+    @Column(updatable = false)
+    private Integer waitingCount = 0;
 
-    private boolean isNotClosed(){
-        return this.endEnrollmentDateTime.isAfter(LocalDateTime.now());
-    }
+    //EventDeadlineScheduler가 모집 마감과 시작 알림을 처리했는지 표시한다. 역시 UPDATE로만 바꾼다.
+    @Column(updatable = false, columnDefinition = "boolean default false")
+    private boolean enrollmentClosed;
 
-    public boolean isAttended(UserAccount userAccount){
-        Account account = userAccount.getAccount();
-        for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account) && e.isAttended()){
-                return true;
-            }
-        }
-        return false;
-    }
+    @Column(updatable = false, columnDefinition = "boolean default false")
+    private boolean reminded;
 
-    public int numberOfRemainSpots(){
-        return this.limitOfEnrollments - (int) this.enrollments.stream().filter(Enrollment::isAccepted).count();
+    public boolean isNotClosed(){
+        return !this.enrollmentClosed && this.endEnrollmentDateTime.isAfter(LocalDateTime.now());
     }
 
-    private boolean isAlreadyEnrolled(UserAccount userAccount) {
-        Account account = userAccount.getAccount();
-        for (Enrollment e : this.enrollments) {
-            if (e.getAccount().equals(account)){
-                return true;
-            }
-        }
-        return false;
-    }
-
-    public long getNumberOfAcceptedEnrollments() {
-        return this.enrollments.stream().filter(Enrollment::isAccepted).count();
-    }
-
-    public void addEnrollment(Enrollment enrollment) {
-        this.enrollments.add(enrollment);
-        enrollment.setEvent(this);
+    public int numberOfRemainSpots(){
+        return this.limitOfEnrollments - this.acceptedCount;
     }
 
-    public void removeEnrollment(Enrollment enrollment){
-        this.enrollments.remove(enrollment);
-        enrollment.setEvent(null);
+    public int getNumberOfAcceptedEnrollments() {
+        return this.acceptedCount;
     }
 
-    public boolean isAbleToAcceptWaitingEnrollment(){
-        return this.eventType == EventType.FCFS && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments();
+    public int getNumberOfEnrollments() {
+        return this.acceptedCount + this.waitingCount;
     }
 
     public boolean canAccept(Enrollment enrollment){
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && this.equals(enrollment.getEvent())
                 && !enrollment.isAttended()
                 && !enrollment.isAccepted();
     }
 
     public boolean canReject(Enrollment enrollment){
         return this.eventType == EventType.CONFIRMATIVE
-                && this.enrollments.contains(enrollment)
+                && this.equals(enrollment.getEvent())
                 && !enrollment.isAttended()
                 && enrollment.isAccepted();
     }
-
-    private List<Enrollment> getWaitingList() {
-        return this.enrollments.stream().filter(enrollment -> !enrollment.isAccepted()).collect(Collectors.toList());
-    }
-
-    public void acceptWaitingList(){
-        if (this.isAbleToAcceptWaitingEnrollment()){
-            var waitingList = getWaitingList();
-            int numberToAccept = (int) Math.min(this.limitOfEnrollments - this.getNumberOfAcceptedEnrollments(), waitingList.size());
-            waitingList.subList(0, numberToAccept).forEach(enrollment -> enrollment.setAccepted(true));
-        }
-    }
-
-    public void acceptNextWaitingEnrollment() {
-        if (this.isAbleToAcceptWaitingEnrollment()){
-            Enrollment enrollmentToAccept = this.getTheFirstWaitingEnrollment();
-            if (enrollmentToAccept != null){
-                enrollmentToAccept.setAccepted(true);
-            }
-        }
-    }
-
-    private Enrollment getTheFirstWaitingEnrollment(){
-        for (Enrollment e : this.enrollments) {
-            if (!e.isAccepted()){
-                return e;
-            }
-        }
-        return null;
-    }
-
-    public void accept(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE
-                && this.limitOfEnrollments > this.getNumberOfAcceptedEnrollments()){
-            enrollment.setAccepted(true);
-        }
-    }
-
-    public void reject(Enrollment enrollment) {
-        if (this.eventType == EventType.CONFIRMATIVE){
-            enrollment.setAccepted(false);
-        }
-    }
 }
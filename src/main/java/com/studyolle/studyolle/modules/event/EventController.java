@@ -2,12 +2,17 @@ package com.studyolle.studyolle.modules.event;
 
 import com.studyolle.studyolle.modules.account.CurrentUser;
 import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountSnapshot;
 import com.studyolle.studyolle.modules.event.validator.EventValidator;
 import com.studyolle.studyolle.modules.study.StudyService;
 import com.studyolle.studyolle.modules.study.Study;
 import com.studyolle.studyolle.modules.event.form.EventForm;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
@@ -16,7 +21,6 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Controller
@@ -24,6 +28,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class EventController {
 
+    static final int PAST_EVENTS_PAGE_SIZE = 20;
+
     private final StudyService studyService;
     private final EventService eventService;
     private final ModelMapper modelMapper;
@@ -70,24 +76,21 @@ public class EventController {
     }
 
     @GetMapping("/events")
-    public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path, Model model){
+    public String viewStudyEvents(@CurrentUser Account account, @PathVariable String path, Long after, Model model){
         Study study = studyService.getStudy(path);
         model.addAttribute(account);
         model.addAttribute(study);
 
-        List<Event> events = eventRepository.findByStudyOrderByStartDateTime(study);
-        List<Event> newEvents = new ArrayList<>();
-        List<Event> oldEvents = new ArrayList<>();
-        events.forEach(event -> {
-            if (event.getEndDateTime().isBefore(LocalDateTime.now())){
-                oldEvents.add(event);
-            }else {
-                newEvents.add(event);
-            }
-        });
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest page = PageRequest.of(0, PAST_EVENTS_PAGE_SIZE);
+        Slice<EventSummary> oldEventSlice = after == null
+                ? eventRepository.findByStudyIdAndEndDateTimeBeforeOrderByEndDateTimeDescIdDesc(study.getId(), now, page)
+                : eventRepository.findPastEventsAfter(study.getId(), now, after, page);
 
-        model.addAttribute("newEvents", newEvents);
-        model.addAttribute("oldEvents", oldEvents);
+        model.addAttribute("newEvents", eventRepository.findByStudyIdAndEndDateTimeGreaterThanEqualOrderByStartDateTimeAscIdAsc(study.getId(), now));
+        model.addAttribute("oldEvents", oldEventSlice.getContent());
+        model.addAttribute("oldEventSlice", oldEventSlice);
+        model.addAttribute("numberOfOldEvents", eventRepository.countByStudyIdAndEndDateTimeBefore(study.getId(), now));
 
         return "study/events";
     }
@@ -177,4 +180,53 @@ public class EventController {
         eventService.cancelCheckInEnrollment(enrollment);
         return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
     }
+
+    @PostMapping("/events/{eventId}/enrollments/accept")
+    public String acceptEnrollments(@CurrentUser Account account, @PathVariable String path, @PathVariable("eventId") Event event,
+                                    @RequestParam(value = "enrollmentIds", defaultValue = "") List<Long> enrollmentIds){
+        Study study = studyService.getStudyToUpdate(account, path);
+        checkIfEventOfStudy(event.getId(), study);
+        eventService.acceptEnrollments(event, enrollmentIds);
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+    }
+
+    @PostMapping("/events/{eventId}/enrollments/reject")
+    public String rejectEnrollments(@CurrentUser Account account, @PathVariable String path, @PathVariable("eventId") Event event,
+                                    @RequestParam(value = "enrollmentIds", defaultValue = "") List<Long> enrollmentIds){
+        Study study = studyService.getStudyToUpdate(account, path);
+        checkIfEventOfStudy(event.getId(), study);
+        eventService.rejectEnrollments(event, enrollmentIds);
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+    }
+
+    @PostMapping("/events/{eventId}/enrollments/checkin")
+    public String checkInEnrollments(@CurrentUser Account account, @PathVariable String path, @PathVariable("eventId") Event event,
+                                     @RequestParam(value = "enrollmentIds", defaultValue = "") List<Long> enrollmentIds){
+        Study study = studyService.getStudyToUpdate(account, path);
+        checkIfEventOfStudy(event.getId(), study);
+        eventService.checkInEnrollments(event, enrollmentIds);
+        return "redirect:/study/" + study.getEncodedPath() + "/events/" + event.getId();
+    }
+
+    //입구에서 QR 코드를 스캔할 때 부르는 API. 모임과 참가 신청은 id로만 다룬다.
+    @PostMapping("/events/{eventId}/enrollments/{enrollmentId}/scan")
+    public ResponseEntity<ScanResult> scanEnrollment(@CurrentUser AccountSnapshot account, @PathVariable String path,
+                                                     @PathVariable Long eventId, @PathVariable Long enrollmentId){
+        Study study = studyService.getStudyToCheckIn(account, path);
+        checkIfEventOfStudy(eventId, study);
+        ScanResult result = eventService.scanCheckIn(eventId, enrollmentId);
+        if (result == ScanResult.NOT_FOUND) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
+        }
+        if (result == ScanResult.NOT_ACCEPTED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    private void checkIfEventOfStudy(Long eventId, Study study) {
+        if (!eventRepository.existsByIdAndStudyId(eventId, study.getId())){
+            throw new IllegalArgumentException(study.getPath() + " 스터디에 " + eventId + " 모임이 없습니다.");
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.studyolle.studyolle.modules.event;
+
+import java.time.LocalDateTime;
+
+//스케줄러가 타이밍 휠에 올릴 때 필요한 모임 id와 시각만 읽는다.
+public interface EventDeadline {
+
+    Long getId();
+
+    LocalDateTime getDateTime();
+}
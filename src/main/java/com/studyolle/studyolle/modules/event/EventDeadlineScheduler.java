@@ -0,0 +1,213 @@
+package com.studyolle.studyolle.modules.event;
+
+import com.studyolle.studyolle.infra.outbox.OutboxBatch;
+import com.studyolle.studyolle.infra.timer.HashedTimingWheel;
+import com.studyolle.studyolle.modules.event.event.EventReminderEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+//모집 마감과 시작 알림 시각을 타이밍 휠에 올려 두고 tick마다 마감된 것만 묶어서 처리한다.
+//휠에는 앞으로 horizon 안의 일정만 두고, loadInterval마다 그 다음 구간을 인덱스로 조금씩 읽어 온다.
+//처리 여부는 event 행에 남기고 조건부 UPDATE로 바꾸므로, 재시작하거나 여러 서버가 함께 돌아도 한 번만 처리된다.
+@Slf4j
+@Component
+public class EventDeadlineScheduler {
+
+    private static final String CLOSE_ENROLLMENTS = "UPDATE event SET enrollment_closed = true " +
+            "WHERE id IN (:ids) AND NOT enrollment_closed AND end_enrollment_date_time <= :now";
+
+    //예약한 뒤에 시작 시각이 바뀐 모임은 조건에 맞지 않아 건너뛰고, 새 시각으로 다시 예약된다.
+    private static final String REMIND = "UPDATE event SET reminded = true " +
+            "WHERE id IN (:ids) AND NOT reminded AND start_date_time > :now AND start_date_time <= :remindBefore RETURNING id";
+
+    private final EventRepository eventRepository;
+    private final EventScheduleProperties properties;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final HashedTimingWheel<Deadline> wheel;
+
+    //여기까지의 일정은 휠에 올렸다. null이면 아직 한 번도 읽지 않았다.
+    private volatile LocalDateTime loadedUntil;
+
+    public EventDeadlineScheduler(EventRepository eventRepository, EventScheduleProperties properties,
+                                  NamedParameterJdbcTemplate jdbcTemplate, ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.wheel = new HashedTimingWheel<>(properties.getTick(), properties.getWheelSize(), System.currentTimeMillis());
+        Gauge.builder("event.schedule.pending", wheel, HashedTimingWheel::size).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "#{@eventScheduleProperties.loadInterval.toMillis()}")
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime from = loadedUntil;
+        LocalDateTime until = now.plus(properties.getHorizon());
+
+        //조회보다 먼저 올려 둔다. 조회가 놓친, 그 사이에 커밋된 모임은 커밋 뒤 schedule()이 새 구간을 보고 직접 올린다.
+        //두 번 올라가도 조건부 UPDATE라서 한 번만 처리된다.
+        loadedUntil = until;
+        int reminders;
+        int closings;
+        try {
+            //처음 읽을 때는 꺼져 있는 동안 지나간 일정을 정리하고, 아직 시작하지 않은 모임의 알림은 바로 보낸다.
+            if (from == null) {
+                int closed = eventRepository.closeEnrollmentsEndedBefore(now);
+                int skipped = eventRepository.skipRemindersStartedBefore(now);
+                log.info("closed {} past enrollments and skipped {} past reminders", closed, skipped);
+            }
+
+            reminders = loadPages(Kind.REMIND, from == null ? now : from.plus(properties.getReminderLead()),
+                    until.plus(properties.getReminderLead()), eventRepository::findStartsToRemind);
+            closings = loadPages(Kind.CLOSE_ENROLLMENT, from == null ? now : from, until, eventRepository::findEnrollmentsToClose);
+        } catch (RuntimeException e) {
+            //다 읽지 못한 구간은 다음 load가 처음부터 다시 읽는다.
+            loadedUntil = from;
+            throw e;
+        }
+        if (reminders + closings > 0) {
+            log.info("scheduled {} reminders and {} enrollment closings until {}", reminders, closings, until);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@eventScheduleProperties.tick.toMillis()}")
+    public void tick() {
+        List<Deadline> expired = wheel.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Map<Kind, List<Long>> idsByKind = expired.stream().collect(Collectors.groupingBy(Deadline::getKind,
+                Collectors.mapping(Deadline::getEventId, Collectors.toList())));
+        chunks(idsByKind.getOrDefault(Kind.CLOSE_ENROLLMENT, List.of())).forEach(this::closeEnrollments);
+        chunks(idsByKind.getOrDefault(Kind.REMIND, List.of())).forEach(this::remind);
+    }
+
+    //모임을 만들거나 고쳤을 때, 이미 읽어 둔 구간 안의 일정이면 바로 휠에 올린다. 나머지는 load가 가져간다.
+    //커밋 전에 올리면 tick의 UPDATE가 아직 커밋되지 않은 행을 보지 못해 일정이 사라지므로 커밋 뒤에 올린다.
+    public void schedule(Event event) {
+        Long eventId = event.getId();
+        LocalDateTime startDateTime = event.isReminded() ? null : event.getStartDateTime();
+        LocalDateTime endEnrollmentDateTime = event.isEnrollmentClosed() ? null : event.getEndEnrollmentDateTime();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(eventId, startDateTime, endEnrollmentDateTime);
+                }
+            });
+        } else {
+            schedule(eventId, startDateTime, endEnrollmentDateTime);
+        }
+    }
+
+    private void schedule(Long eventId, LocalDateTime startDateTime, LocalDateTime endEnrollmentDateTime) {
+        LocalDateTime until = loadedUntil;
+        if (until == null) {
+            return;
+        }
+
+        if (startDateTime != null && !startDateTime.minus(properties.getReminderLead()).isAfter(until)) {
+            add(Kind.REMIND, eventId, startDateTime);
+        }
+        if (endEnrollmentDateTime != null && !endEnrollmentDateTime.isAfter(until)) {
+            add(Kind.CLOSE_ENROLLMENT, eventId, endEnrollmentDateTime);
+        }
+    }
+
+    private int loadPages(Kind kind, LocalDateTime from, LocalDateTime to, PageLoader pageLoader) {
+        int loaded = 0;
+        LocalDateTime afterTime = from;
+        Long afterId = Long.MAX_VALUE;
+        List<EventDeadline> page;
+        do {
+            page = pageLoader.load(afterTime, afterId, to, PageRequest.of(0, properties.getBatchSize()));
+            for (EventDeadline deadline : page) {
+                add(kind, deadline.getId(), deadline.getDateTime());
+                afterTime = deadline.getDateTime();
+                afterId = deadline.getId();
+            }
+            loaded += page.size();
+        } while (page.size() == properties.getBatchSize());
+        return loaded;
+    }
+
+    private void add(Kind kind, Long eventId, LocalDateTime dateTime) {
+        LocalDateTime fireAt = kind == Kind.REMIND ? dateTime.minus(properties.getReminderLead()) : dateTime;
+        wheel.schedule(new Deadline(kind, eventId), fireAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private void closeEnrollments(List<Long> eventIds) {
+        int closed = jdbcTemplate.update(CLOSE_ENROLLMENTS, new MapSqlParameterSource("ids", eventIds)
+                .addValue("now", LocalDateTime.now()));
+        log.debug("closed enrollments of {} events", closed);
+    }
+
+    //알림 표시와 outbox 기록을 한 트랜잭션으로 묶어서, 표시만 되고 알림이 사라지는 일이 없게 한다.
+    private void remind(List<Long> eventIds) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> remindedIds = jdbcTemplate.queryForList(REMIND, new MapSqlParameterSource("ids", eventIds)
+                    .addValue("now", now)
+                    .addValue("remindBefore", now.plus(properties.getReminderLead())), Long.class);
+            if (!remindedIds.isEmpty()) {
+                eventPublisher.publishEvent(new OutboxBatch(remindedIds.stream()
+                        .map(EventReminderEvent::new)
+                        .collect(Collectors.toList())));
+            }
+        });
+    }
+
+    private List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += properties.getBatchSize()) {
+            chunks.add(ids.subList(i, Math.min(i + properties.getBatchSize(), ids.size())));
+        }
+        return chunks;
+    }
+
+    private interface PageLoader {
+
+        List<EventDeadline> load(LocalDateTime from, Long afterId, LocalDateTime to, PageRequest pageRequest);
+    }
+
+    enum Kind {
+
+        REMIND, CLOSE_ENROLLMENT
+    }
+
+    @Getter
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    static class Deadline {
+
+        private final Kind kind;
+
+        private final Long eventId;
+    }
+}
@@ -1,15 +1,87 @@
 package com.studyolle.studyolle.modules.event;
 
-import com.studyolle.studyolle.modules.study.Study;
-import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Transactional(readOnly = true)
 public interface EventRepository extends JpaRepository<Event,Long> {
 
-    @EntityGraph(value = "Event.withEnrollments", type = EntityGraph.EntityGraphType.LOAD)
-    List<Event> findByStudyOrderByStartDateTime(Study study);
+    //스터디 모임 목록은 (study_id, end_date_time, id) 인덱스로 새 모임과 지난 모임을 나눠 읽는다.
+    List<EventSummary> findByStudyIdAndEndDateTimeGreaterThanEqualOrderByStartDateTimeAscIdAsc(Long studyId, LocalDateTime now);
+
+    Slice<EventSummary> findByStudyIdAndEndDateTimeBeforeOrderByEndDateTimeDescIdDesc(Long studyId, LocalDateTime now, Pageable pageable);
+
+    //지난 모임은 마지막으로 본 모임의 (종료 시각, id) 다음부터 읽으므로 오래된 페이지도 비용이 같다.
+    @Query("select e.id as id, e.title as title, e.startDateTime as startDateTime, e.endDateTime as endDateTime, " +
+            "e.endEnrollmentDateTime as endEnrollmentDateTime, e.limitOfEnrollments as limitOfEnrollments, e.acceptedCount as acceptedCount " +
+            "from Event e, Event last where last.id = :after and e.study.id = :studyId and e.endDateTime < :now " +
+            "and (e.endDateTime < last.endDateTime or (e.endDateTime = last.endDateTime and e.id < last.id)) " +
+            "order by e.endDateTime desc, e.id desc")
+    Slice<EventSummary> findPastEventsAfter(@Param("studyId") Long studyId, @Param("now") LocalDateTime now,
+                                            @Param("after") Long after, Pageable pageable);
+
+    long countByStudyIdAndEndDateTimeBefore(Long studyId, LocalDateTime now);
+
+    boolean existsByIdAndStudyId(Long id, Long studyId);
+
+    //남은 자리가 있을 때만 1을 더한다. 동시에 신청해도 event 행 잠금 뒤에 조건을 다시 확인하므로 정원을 넘지 않는다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + 1 where e.id = :id and e.acceptedCount < e.limitOfEnrollments")
+    int acquireSeat(@Param("id") Long id);
+
+    //대기자 한 명을 확정으로 옮긴다. 남은 자리와 대기자가 모두 있을 때만 바뀐다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + 1, e.waitingCount = e.waitingCount - 1 " +
+            "where e.id = :id and e.acceptedCount < e.limitOfEnrollments and e.waitingCount > 0")
+    int promoteWaiting(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.acceptedCount = e.acceptedCount + :accepted, e.waitingCount = e.waitingCount + :waiting where e.id = :id")
+    int addCounts(@Param("id") Long id, @Param("accepted") int accepted, @Param("waiting") int waiting);
+
+    //모임 정보를 고쳐 일정이 바뀌면 마감과 알림을 다시 처리할 수 있게 한다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.enrollmentClosed = :closed where e.id = :id")
+    int updateEnrollmentClosed(@Param("id") Long id, @Param("closed") boolean closed);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.reminded = false where e.id = :id")
+    int resetReminder(@Param("id") Long id);
+
+    //스케줄러가 꺼져 있는 동안 지난 마감과 이미 시작한 모임의 알림은 한 번에 정리한다.
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.enrollmentClosed = true where e.enrollmentClosed = false and e.endEnrollmentDateTime <= :now")
+    int closeEnrollmentsEndedBefore(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.reminded = true where e.reminded = false and e.startDateTime <= :now")
+    int skipRemindersStartedBefore(@Param("now") LocalDateTime now);
+
+    //(시각, id) 순서의 키셋 페이징으로 from 이후 to까지의 일정만 조금씩 읽는다.
+    @Query("select e.id as id, e.startDateTime as dateTime from Event e where e.reminded = false " +
+            "and e.startDateTime <= :to and (e.startDateTime > :from or (e.startDateTime = :from and e.id > :afterId)) " +
+            "order by e.startDateTime, e.id")
+    List<EventDeadline> findStartsToRemind(@Param("from") LocalDateTime from, @Param("afterId") Long afterId,
+                                           @Param("to") LocalDateTime to, Pageable pageable);
+
+    @Query("select e.id as id, e.endEnrollmentDateTime as dateTime from Event e where e.enrollmentClosed = false " +
+            "and e.endEnrollmentDateTime <= :to and (e.endEnrollmentDateTime > :from or (e.endEnrollmentDateTime = :from and e.id > :afterId)) " +
+            "order by e.endEnrollmentDateTime, e.id")
+    List<EventDeadline> findEnrollmentsToClose(@Param("from") LocalDateTime from, @Param("afterId") Long afterId,
+                                               @Param("to") LocalDateTime to, Pageable pageable);
 }
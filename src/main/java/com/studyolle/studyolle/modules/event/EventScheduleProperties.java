@@ -0,0 +1,29 @@
+package com.studyolle.studyolle.modules.event;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties("app.event-schedule")
+public class EventScheduleProperties {
+
+    //타이밍 휠 한 칸의 길이. 알림과 마감은 이 정도 늦게 처리될 수 있다.
+    private Duration tick = Duration.ofSeconds(10);
+
+    private int wheelSize = 1024;
+
+    //앞으로 이 시간 안에 처리할 일정만 휠에 올려 둔다. tick * wheelSize보다 짧아야 버킷 하나에 여러 바퀴가 쌓이지 않는다.
+    private Duration horizon = Duration.ofHours(2);
+
+    //horizon을 이 주기로 조금씩 앞으로 당겨 읽는다.
+    private Duration loadInterval = Duration.ofMinutes(10);
+
+    //모임 시작 이 시간 전에 참가자에게 알린다.
+    private Duration reminderLead = Duration.ofHours(1);
+
+    private int batchSize = 500;
+}
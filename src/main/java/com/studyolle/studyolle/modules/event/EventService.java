@@ -1,7 +1,9 @@
 package com.studyolle.studyolle.modules.event;
 
+import com.studyolle.studyolle.infra.outbox.OutboxBatch;
 import com.studyolle.studyolle.modules.account.Account;
 import com.studyolle.studyolle.modules.event.event.EnrollmentAcceptedEvent;
+import com.studyolle.studyolle.modules.event.event.EnrollmentEvent;
 import com.studyolle.studyolle.modules.event.event.EnrollmentRejectedEvent;
 import com.studyolle.studyolle.modules.study.Study;
 import com.studyolle.studyolle.modules.event.form.EventForm;
@@ -13,6 +15,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,6 +26,8 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentBulkUpdater enrollmentBulkUpdater;
+    private final EventDeadlineScheduler eventDeadlineScheduler;
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
 
@@ -30,12 +37,17 @@ public class EventService {
         event.setStudy(study);
         eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(),
                 "'" + event.getTitle() + "' 모임을 만들었습니다."));
-        return eventRepository.save(event);
+        Event newEvent = eventRepository.save(event);
+        eventDeadlineScheduler.schedule(newEvent);
+        return newEvent;
     }
 
     public void updateEvent(Event event, EventForm eventForm) {
+        LocalDateTime endEnrollmentDateTime = event.getEndEnrollmentDateTime();
+        LocalDateTime startDateTime = event.getStartDateTime();
         modelMapper.map(eventForm, event);
-        event.acceptWaitingList();
+        rescheduleIfChanged(event, endEnrollmentDateTime, startDateTime);
+        acceptWaitingList(event);
         eventPublisher.publishEvent(new StudyUpdateEvent(event.getStudy(),
                 "'" + event.getTitle() + "' 모임 정보를 수정했으니 확인하세요."));
     }
@@ -46,34 +58,167 @@ public class EventService {
                 "'" + event.getTitle() + "' 모임을 취소했습니다."));
     }
 
+    //선착순 모임은 좌석을 조건부 UPDATE로 먼저 잡고, 못 잡으면 대기자로 등록한다.
+    //같은 계정이 동시에 신청하면 (event_id, account_id) 유니크 제약에 걸려 잡았던 좌석까지 함께 롤백된다.
     public void newEnrollment(Event event, Account account) {
-        if (!enrollmentRepository.existsByEventAndAccount(event, account)){
+        if (event.isNotClosed() && !enrollmentRepository.existsByEventAndAccount(event, account)){
             Enrollment enrollment = new Enrollment();
+            enrollment.setAccepted(event.getEventType() == EventType.FCFS && acquireSeat(event));
+            //좌석 UPDATE가 event 행 잠금을 기다린 뒤에 시각을 찍어야, 좌석을 먼저 잡은 신청이 대기자보다 늦게 찍히지 않는다.
             enrollment.setEnrolledAt(LocalDateTime.now());
-            enrollment.setAccepted(event.isAbleToAcceptWaitingEnrollment());
             enrollment.setAccount(account);
-            event.addEnrollment(enrollment);
+            enrollment.setEvent(event);
             enrollmentRepository.save(enrollment);
+            if (!enrollment.isAccepted()) {
+                addCounts(event, 0, 1);
+            }
         }
     }
 
     public void cancelEnrollment(Event event, Account account) {
         Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, account);
         if (!enrollment.isAttended()) {
-            event.removeEnrollment(enrollment);
             enrollmentRepository.delete(enrollment);
-            event.acceptNextWaitingEnrollment();
+            if (enrollment.isAccepted()) {
+                addCounts(event, -1, 0);
+                acceptNextWaitingEnrollment(event);
+            } else {
+                addCounts(event, 0, -1);
+            }
         }
     }
 
     public void acceptEnrollment(Event event, Enrollment enrollment) {
-        event.accept(enrollment);
-        eventPublisher.publishEvent(new EnrollmentAcceptedEvent(enrollment));
+        if (event.canAccept(enrollment) && promoteWaiting(event)) {
+            enrollment.setAccepted(true);
+            eventPublisher.publishEvent(new EnrollmentAcceptedEvent(enrollment));
+        }
     }
 
     public void rejectEnrollment(Event event, Enrollment enrollment) {
-        event.reject(enrollment);
-        eventPublisher.publishEvent(new EnrollmentRejectedEvent(enrollment));
+        if (event.canReject(enrollment)) {
+            enrollment.setAccepted(false);
+            addCounts(event, -1, 1);
+            eventPublisher.publishEvent(new EnrollmentRejectedEvent(enrollment));
+        }
+    }
+
+    //좌석을 먼저 잡은 뒤 대기자를 잠가서 고르므로, 동시에 여러 명이 취소해도 같은 대기자를 두 번 확정하지 않는다.
+    private void acceptNextWaitingEnrollment(Event event) {
+        if (event.getEventType() != EventType.FCFS || !promoteWaiting(event)) {
+            return;
+        }
+
+        Enrollment next = enrollmentRepository.lockFirstWaitingEnrollment(event.getId());
+        if (next != null) {
+            next.setAccepted(true);
+        } else {
+            addCounts(event, -1, 1);
+        }
+    }
+
+    //모집 마감이나 시작 시각이 바뀌면 마감/알림 처리 여부를 다시 맞추고 새 시각으로 예약한다.
+    private void rescheduleIfChanged(Event event, LocalDateTime endEnrollmentDateTime, LocalDateTime startDateTime) {
+        boolean changed = false;
+        if (!event.getEndEnrollmentDateTime().equals(endEnrollmentDateTime)) {
+            boolean closed = !event.getEndEnrollmentDateTime().isAfter(LocalDateTime.now());
+            eventRepository.updateEnrollmentClosed(event.getId(), closed);
+            event.setEnrollmentClosed(closed);
+            changed = true;
+        }
+        if (!event.getStartDateTime().equals(startDateTime)) {
+            eventRepository.resetReminder(event.getId());
+            event.setReminded(false);
+            changed = true;
+        }
+        if (changed) {
+            eventDeadlineScheduler.schedule(event);
+        }
+    }
+
+    //정원이 늘어나면 늘어난 만큼 대기자를 한 번에 확정하고, 알림 이벤트도 한 묶음으로 발행한다.
+    private void acceptWaitingList(Event event) {
+        if (event.getEventType() != EventType.FCFS) {
+            return;
+        }
+
+        eventRepository.flush();
+        List<Long> acceptedIds = enrollmentBulkUpdater.promoteWaiting(event.getId());
+        moveCounts(event, acceptedIds.size());
+        publishAll(acceptedIds, EnrollmentAcceptedEvent::new);
+    }
+
+    //관리자가 고른 신청을 한 번에 수락/거절/체크인한다. 조건에 맞지 않는 신청은 건너뛴다.
+    public void acceptEnrollments(Event event, List<Long> enrollmentIds) {
+        if (event.getEventType() != EventType.CONFIRMATIVE || enrollmentIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> acceptedIds = enrollmentBulkUpdater.accept(event.getId(), enrollmentIds);
+        moveCounts(event, acceptedIds.size());
+        publishAll(acceptedIds, EnrollmentAcceptedEvent::new);
+    }
+
+    public void rejectEnrollments(Event event, List<Long> enrollmentIds) {
+        if (event.getEventType() != EventType.CONFIRMATIVE || enrollmentIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> rejectedIds = enrollmentBulkUpdater.reject(event.getId(), enrollmentIds);
+        moveCounts(event, -rejectedIds.size());
+        publishAll(rejectedIds, EnrollmentRejectedEvent::new);
+    }
+
+    public void checkInEnrollments(Event event, List<Long> enrollmentIds) {
+        if (!enrollmentIds.isEmpty()) {
+            enrollmentBulkUpdater.checkIn(event.getId(), enrollmentIds);
+        }
+    }
+
+    //QR 스캔은 엔티티를 읽지 않고 UPDATE 한 번으로 끝낸다. 같은 코드를 다시 스캔해도 상태는 바뀌지 않는다.
+    public ScanResult scanCheckIn(Long eventId, Long enrollmentId) {
+        if (!enrollmentBulkUpdater.checkIn(eventId, List.of(enrollmentId)).isEmpty()) {
+            return ScanResult.CHECKED_IN;
+        }
+
+        return enrollmentRepository.findAcceptedByIdAndEventId(enrollmentId, eventId)
+                .map(accepted -> accepted ? ScanResult.ALREADY_CHECKED_IN : ScanResult.NOT_ACCEPTED)
+                .orElse(ScanResult.NOT_FOUND);
+    }
+
+    private void moveCounts(Event event, int accepted) {
+        event.setAcceptedCount(event.getAcceptedCount() + accepted);
+        event.setWaitingCount(event.getWaitingCount() - accepted);
+    }
+
+    private void publishAll(List<Long> enrollmentIds, Function<Long, EnrollmentEvent> eventFactory) {
+        if (!enrollmentIds.isEmpty()) {
+            eventPublisher.publishEvent(new OutboxBatch(enrollmentIds.stream().map(eventFactory).collect(Collectors.toList())));
+        }
+    }
+
+    //카운터는 DB에서 바꾸고, 같은 트랜잭션 안에서 읽는 엔티티 값도 맞춰 둔다.
+    private boolean acquireSeat(Event event) {
+        if (eventRepository.acquireSeat(event.getId()) == 0) {
+            return false;
+        }
+        event.setAcceptedCount(event.getAcceptedCount() + 1);
+        return true;
+    }
+
+    private boolean promoteWaiting(Event event) {
+        if (eventRepository.promoteWaiting(event.getId()) == 0) {
+            return false;
+        }
+        event.setAcceptedCount(event.getAcceptedCount() + 1);
+        event.setWaitingCount(event.getWaitingCount() - 1);
+        return true;
+    }
+
+    private void addCounts(Event event, int accepted, int waiting) {
+        eventRepository.addCounts(event.getId(), accepted, waiting);
+        event.setAcceptedCount(event.getAcceptedCount() + accepted);
+        event.setWaitingCount(event.getWaitingCount() + waiting);
     }
 
     public void checkInEnrollment(Enrollment enrollment) {
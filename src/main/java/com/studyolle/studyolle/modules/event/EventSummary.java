@@ -0,0 +1,25 @@
+package com.studyolle.studyolle.modules.event;
+
+import java.time.LocalDateTime;
+
+//모임 목록에 필요한 컬럼만 읽는다. 참가 인원은 신청 목록 대신 accepted_count로 계산한다.
+public interface EventSummary {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getStartDateTime();
+
+    LocalDateTime getEndDateTime();
+
+    LocalDateTime getEndEnrollmentDateTime();
+
+    Integer getLimitOfEnrollments();
+
+    Integer getAcceptedCount();
+
+    default int numberOfRemainSpots() {
+        return getLimitOfEnrollments() - getAcceptedCount();
+    }
+}
@@ -0,0 +1,6 @@
+package com.studyolle.studyolle.modules.event;
+
+public enum ScanResult {
+
+    CHECKED_IN, ALREADY_CHECKED_IN, NOT_ACCEPTED, NOT_FOUND
+}
@@ -3,7 +3,13 @@ package com.studyolle.studyolle.modules.event.event;
 import com.studyolle.studyolle.modules.event.Enrollment;
 
 public class EnrollmentAcceptedEvent extends EnrollmentEvent{
+    private static final String MESSAGE = "모임 참가 신청을 확인했습니다. 모임에 참석하세요.";
+
     public EnrollmentAcceptedEvent(Enrollment enrollment) {
-        super(enrollment, "모임 참가 신청을 확인했습니다. 모임에 참석하세요.");
+        super(enrollment, MESSAGE);
+    }
+
+    public EnrollmentAcceptedEvent(Long enrollmentId) {
+        super(enrollmentId, MESSAGE);
     }
 }
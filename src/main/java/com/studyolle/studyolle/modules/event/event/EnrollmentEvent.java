@@ -1,15 +1,24 @@
 package com.studyolle.studyolle.modules.event.event;
 
+import com.studyolle.studyolle.infra.outbox.OutboxPublishable;
 import com.studyolle.studyolle.modules.event.Enrollment;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 @Getter
 @RequiredArgsConstructor
-public abstract class EnrollmentEvent {
+public abstract class EnrollmentEvent implements OutboxPublishable {
 
-    protected final Enrollment enrollment;
+    protected final Long enrollmentId;
 
     protected final String message;
 
+    protected EnrollmentEvent(Enrollment enrollment, String message) {
+        this(enrollment.getId(), message);
+    }
+
+    @Override
+    public Long getAggregateId() {
+        return enrollmentId;
+    }
 }
@@ -1,62 +1,69 @@
 package com.studyolle.studyolle.modules.event.event;
 
-import com.studyolle.studyolle.infra.config.AppProperties;
 import com.studyolle.studyolle.infra.mail.EmailMessage;
 import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.infra.mail.MailTemplates;
+import com.studyolle.studyolle.infra.outbox.OutboxEvent;
+import com.studyolle.studyolle.infra.outbox.OutboxEventHandler;
 import com.studyolle.studyolle.modules.account.Account;
 import com.studyolle.studyolle.modules.event.Enrollment;
+import com.studyolle.studyolle.modules.event.EnrollmentRepository;
 import com.studyolle.studyolle.modules.event.Event;
 import com.studyolle.studyolle.modules.notification.Notification;
-import com.studyolle.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.studyolle.modules.notification.NotificationWriter;
 import com.studyolle.studyolle.modules.notification.NotificationType;
 import com.studyolle.studyolle.modules.study.Study;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Slf4j
-@Async
 @Component
 @Transactional
 @RequiredArgsConstructor
-public class EnrollmentEventListener {
+public class EnrollmentEventListener implements OutboxEventHandler {
 
-    private final NotificationRepository notificationRepository;
-    private final AppProperties appProperties;
-    private final TemplateEngine templateEngine;
+    private static final Set<String> ENROLLMENT_EVENTS = Set.of(EnrollmentAcceptedEvent.class.getSimpleName(),
+            EnrollmentRejectedEvent.class.getSimpleName());
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationWriter notificationWriter;
+    private final MailTemplates mailTemplates;
     private final EmailService emailService;
 
-    @EventListener
-    public void handleEnrollmentEvent(EnrollmentEvent enrollmentEvent){
-        Enrollment enrollment = enrollmentEvent.getEnrollment();
+    @Override
+    public boolean supports(String eventType) {
+        return ENROLLMENT_EVENTS.contains(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent outboxEvent) {
+        //처리 전에 참가 신청이 취소되었으면 보낼 알림이 없다.
+        enrollmentRepository.findById(outboxEvent.getAggregateId())
+                .ifPresent(enrollment -> handleEnrollmentEvent(enrollment, outboxEvent.getMessage()));
+    }
+
+    private void handleEnrollmentEvent(Enrollment enrollment, String message){
         Account account = enrollment.getAccount();
         Event event = enrollment.getEvent();
         Study study = event.getStudy();
 
         if (account.isStudyEnrollmentResultByEmail()){
-            sendEmail(enrollmentEvent, account, event, study);
+            sendEmail(message, account, event, study);
         }
 
         if (account.isStudyEnrollmentResultByWeb()){
-            createNotification(enrollmentEvent, account, event, study);
+            createNotification(message, account, event, study);
         }
     }
 
-    private void sendEmail(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study) {
-        Context context = new Context();
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("link", "/study/" + study.getEncodedPath() + "/events/" + event.getId());
-        context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", enrollmentEvent.getMessage());
-        context.setVariable("host", appProperties.getHost());
-        String message = templateEngine.process("mail/simple-link", context);
+    private void sendEmail(String contextMessage, Account account, Event event, Study study) {
+        String message = mailTemplates.simpleLink("/study/" + study.getEncodedPath() + "/events/" + event.getId(),
+                study.getTitle(), contextMessage).render(account.getNickname());
 
         EmailMessage emailMessage = EmailMessage.builder()
                 .subject("스터디올래, " + event.getTitle() + " 모임 참가 신청 결과입니다.")
@@ -67,15 +74,15 @@ public class EnrollmentEventListener {
         emailService.sendEmail(emailMessage);
     }
 
-    private void createNotification(EnrollmentEvent enrollmentEvent, Account account, Event event, Study study) {
+    private void createNotification(String message, Account account, Event event, Study study) {
         Notification notification = new Notification();
         notification.setTitle(study.getTitle() + " / " + event.getTitle());
         notification.setLink("/study/" + study.getEncodedPath() + "/events/" + event.getId());
         notification.setChecked(false);
         notification.setCreatedDateTime(LocalDateTime.now());
-        notification.setMessage(enrollmentEvent.getMessage());
+        notification.setMessage(message);
         notification.setAccount(account);
         notification.setNotificationType(NotificationType.EVENT_ENROLLMENT);
-        notificationRepository.save(notification);
+        notificationWriter.write(notification);
     }
 }
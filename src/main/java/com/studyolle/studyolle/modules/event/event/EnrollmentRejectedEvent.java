@@ -3,7 +3,13 @@ package com.studyolle.studyolle.modules.event.event;
 import com.studyolle.studyolle.modules.event.Enrollment;
 
 public class EnrollmentRejectedEvent extends EnrollmentEvent{
+    private static final String MESSAGE = "모임 참가 신청을 거절했습니다.";
+
     public EnrollmentRejectedEvent(Enrollment enrollment) {
-        super(enrollment, "모임 참가 신청을 거절했습니다.");
+        super(enrollment, MESSAGE);
+    }
+
+    public EnrollmentRejectedEvent(Long enrollmentId) {
+        super(enrollmentId, MESSAGE);
     }
 }
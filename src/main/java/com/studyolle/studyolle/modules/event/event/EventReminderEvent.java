@@ -0,0 +1,22 @@
+package com.studyolle.studyolle.modules.event.event;
+
+import com.studyolle.studyolle.infra.outbox.OutboxPublishable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class EventReminderEvent implements OutboxPublishable {
+
+    private final Long eventId;
+
+    @Override
+    public Long getAggregateId() {
+        return eventId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "모임이 곧 시작합니다. 잊지 말고 참석하세요.";
+    }
+}
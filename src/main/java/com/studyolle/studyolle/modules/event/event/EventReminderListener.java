@@ -0,0 +1,65 @@
+package com.studyolle.studyolle.modules.event.event;
+
+import com.studyolle.studyolle.infra.outbox.OutboxEvent;
+import com.studyolle.studyolle.infra.outbox.OutboxEventHandler;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.event.Enrollment;
+import com.studyolle.studyolle.modules.event.EnrollmentRepository;
+import com.studyolle.studyolle.modules.event.Event;
+import com.studyolle.studyolle.modules.event.EventRepository;
+import com.studyolle.studyolle.modules.notification.Notification;
+import com.studyolle.studyolle.modules.notification.NotificationType;
+import com.studyolle.studyolle.modules.notification.NotificationWriter;
+import com.studyolle.studyolle.modules.study.Study;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+//확정된 참가자에게 모임 시작 알림을 남긴다. 모임 관련 알림이라 참가 신청 결과 알림 설정을 따른다.
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class EventReminderListener implements OutboxEventHandler {
+
+    private final EventRepository eventRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final NotificationWriter notificationWriter;
+
+    @Override
+    public boolean supports(String eventType) {
+        return EventReminderEvent.class.getSimpleName().equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent outboxEvent) {
+        //처리 전에 모임이 취소되었으면 보낼 알림이 없다.
+        eventRepository.findById(outboxEvent.getAggregateId())
+                .ifPresent(event -> remind(event, outboxEvent.getMessage()));
+    }
+
+    private void remind(Event event, String message) {
+        Study study = event.getStudy();
+        List<Notification> notifications = enrollmentRepository.findByEventIdAndAccepted(event.getId(), true).stream()
+                .map(Enrollment::getAccount)
+                .filter(Account::isStudyEnrollmentResultByWeb)
+                .map(account -> createNotification(message, account, event, study))
+                .collect(Collectors.toList());
+        notificationWriter.writeAll(notifications);
+    }
+
+    private Notification createNotification(String message, Account account, Event event, Study study) {
+        Notification notification = new Notification();
+        notification.setTitle(study.getTitle() + " / " + event.getTitle());
+        notification.setLink("/study/" + study.getEncodedPath() + "/events/" + event.getId());
+        notification.setChecked(false);
+        notification.setCreatedDateTime(LocalDateTime.now());
+        notification.setMessage(message);
+        notification.setAccount(account);
+        notification.setNotificationType(NotificationType.EVENT_ENROLLMENT);
+        return notification;
+    }
+}
@@ -1,6 +1,6 @@
 package com.studyolle.studyolle.modules.main;
 
-import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountSnapshot;
 import com.studyolle.studyolle.modules.account.CurrentUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.access.annotation.Secured;
@@ -15,7 +15,7 @@ import javax.servlet.http.HttpServletRequest;
 public class ExceptionAdvice {
 
     @ExceptionHandler
-    public String handleRuntimeException(@CurrentUser Account account, HttpServletRequest req, RuntimeException e){
+    public String handleRuntimeException(@CurrentUser AccountSnapshot account, HttpServletRequest req, RuntimeException e){
         if (account != null){
             log.info("'{}' requested '{}'", account.getNickname(), req.getRequestURI());
         }else {
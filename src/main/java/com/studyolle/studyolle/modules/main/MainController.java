@@ -3,13 +3,17 @@ package com.studyolle.studyolle.modules.main;
 import com.studyolle.studyolle.modules.account.AccountRepository;
 import com.studyolle.studyolle.modules.account.CurrentUser;
 import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountSnapshot;
 import com.studyolle.studyolle.modules.event.EnrollmentRepository;
 import com.studyolle.studyolle.modules.notification.NotificationRepository;
 import com.studyolle.studyolle.modules.study.Study;
+import com.studyolle.studyolle.modules.study.StudyCardCache;
+import com.studyolle.studyolle.modules.study.StudyMatchService;
 import com.studyolle.studyolle.modules.study.StudyRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.stereotype.Controller;
@@ -25,24 +29,24 @@ public class MainController {
     private final StudyRepository studyRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final AccountRepository accountRepository;
+    private final StudyCardCache studyCardCache;
+    private final StudyMatchService studyMatchService;
 
     @GetMapping("/")
-    public String home(@CurrentUser Account account, Model model){
+    public String home(@CurrentUser AccountSnapshot account, Model model){
         if (account != null){
             Account accountLoaded = accountRepository.findAccountWithTagsAndZonesById(account.getId());
             model.addAttribute(accountLoaded);
             model.addAttribute("enrollmentList", enrollmentRepository.findByAccountAndAcceptedOrderByEnrolledAtDesc(accountLoaded, true));
-            model.addAttribute("studyList", studyRepository.findByAccount(
-                    accountLoaded.getTags(),
-                    accountLoaded.getZones()));
+            model.addAttribute("studyList", studyMatchService.getRecommendedStudies(accountLoaded.getId()));
             model.addAttribute("studyManagerOf",
-                    studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+                    studyRepository.findFirst5ByManagersContainingAndClosedOrderByPublishedDateTimeDesc(accountLoaded, false));
             model.addAttribute("studyMemberOf",
-                    studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(account, false));
+                    studyRepository.findFirst5ByMembersContainingAndClosedOrderByPublishedDateTimeDesc(accountLoaded, false));
             return "index-after-login";
         }
 
-        model.addAttribute("studyList", studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true,false));
+        model.addAttribute("studyList", studyCardCache.getRecentStudies());
         return "index";
     }
 
@@ -53,12 +57,27 @@ public class MainController {
 
     @GetMapping("/search/study")
     public String searchStudy(@PageableDefault(size = 9, sort = "publishedDateTime", direction = Sort.Direction.DESC) Pageable pageable,
-                              String keyword, Model model){
-     Page<Study> studyPage = studyRepository.findByKeyword(keyword, pageable);
-     model.addAttribute("studyPage", studyPage);
+                              String keyword, Long after, Model model){
+     String sortProperty = getSortProperty(pageable);
+     if (after != null && !sortProperty.equals("relevance")) {
+         Slice<Study> studySlice = studyRepository.findByKeywordAfter(keyword, after, sortProperty, pageable.getPageSize());
+         model.addAttribute("studySlice", studySlice);
+         model.addAttribute("studyList", studySlice.getContent());
+     } else {
+         Page<Study> studyPage = studyRepository.findByKeyword(keyword, pageable);
+         model.addAttribute("studyPage", studyPage);
+         model.addAttribute("studyList", studyPage.getContent());
+     }
      model.addAttribute("keyword", keyword);
-     model.addAttribute("sortProperty",
-             pageable.getSort().toString().contains("publishedDateTime") ? "publishedDateTime" : "memberCount");
+     model.addAttribute("sortProperty", sortProperty);
      return "search";
     }
+
+    private String getSortProperty(Pageable pageable) {
+        String sort = pageable.getSort().toString();
+        if (sort.contains("relevance")) {
+            return "relevance";
+        }
+        return sort.contains("publishedDateTime") ? "publishedDateTime" : "memberCount";
+    }
 }
@@ -0,0 +1,69 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class CaffeineUnreadNotificationCountStore implements UnreadNotificationCountStore {
+
+    static final Duration RECOUNT_AFTER = Duration.ofMinutes(10);
+
+    private final Cache<Long, Long> cache;
+
+    @Autowired
+    public CaffeineUnreadNotificationCountStore(MeterRegistry meterRegistry) {
+        this(meterRegistry, Ticker.systemTicker());
+    }
+
+    CaffeineUnreadNotificationCountStore(MeterRegistry meterRegistry, Ticker ticker) {
+        //혹시 어긋난 값이 있어도 DB에서 센 뒤 일정 시간이 지나면 다시 센다. 증감으로는 만료 시각을 미루지 않는다.
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfter(new Expiry<Long, Long>() {
+                    @Override
+                    public long expireAfterCreate(Long accountId, Long count, long currentTime) {
+                        return RECOUNT_AFTER.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long accountId, Long count, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long accountId, Long count, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "unreadNotificationCounts");
+    }
+
+    //같은 계정은 한 번만 세고, 세는 동안 들어온 addIfPresent는 센 값이 들어간 뒤에 더해진다.
+    @Override
+    public long get(Long accountId, Function<Long, Long> loader) {
+        return cache.get(accountId, loader);
+    }
+
+    //computeIfPresent는 아직 세고 있는 값을 없는 값으로 보고 지나가므로, 세는 중이면 기다리는 compute를 쓴다.
+    @Override
+    public void addIfPresent(Long accountId, long delta) {
+        cache.asMap().compute(accountId, (id, count) -> count == null ? null : Math.max(0, count + delta));
+    }
+
+    @Override
+    public void evict(Long accountId) {
+        cache.invalidate(accountId);
+    }
+}
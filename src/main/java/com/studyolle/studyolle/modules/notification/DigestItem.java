@@ -0,0 +1,41 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.studyolle.studyolle.modules.account.Account;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+//모아서 보내기로 한 계정에게 다음 요약 메일로 보낼 소식 한 건.
+@Entity
+@Table(indexes = @Index(name = "digest_item_account_idx", columnList = "account_id, id"))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+public class DigestItem {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Account account;
+
+    private String title;
+
+    private String link;
+
+    @Column(columnDefinition = "text")
+    private String message;
+
+    private LocalDateTime createdDateTime;
+
+    public static DigestItem of(Account account, String title, String link, String message) {
+        DigestItem digestItem = new DigestItem();
+        digestItem.setAccount(account);
+        digestItem.setTitle(title);
+        digestItem.setLink(link);
+        digestItem.setMessage(message);
+        digestItem.setCreatedDateTime(LocalDateTime.now());
+        return digestItem;
+    }
+}
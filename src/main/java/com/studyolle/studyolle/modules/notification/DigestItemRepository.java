@@ -0,0 +1,29 @@
+package com.studyolle.studyolle.modules.notification;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface DigestItemRepository extends JpaRepository<DigestItem, Long> {
+
+    @Query("select max(d.id) from DigestItem d")
+    Long findMaxId();
+
+    @Query("select distinct d.account.id from DigestItem d where d.id <= :maxId and d.account.id > :lastAccountId order by d.account.id")
+    List<Long> findAccountIds(@Param("maxId") Long maxId, @Param("lastAccountId") Long lastAccountId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "account")
+    List<DigestItem> findByAccountIdInAndIdLessThanEqualOrderById(List<Long> accountIds, Long maxId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from DigestItem d where d.account.id in :accountIds and d.id <= :maxId")
+    void deleteByAccountIds(@Param("accountIds") List<Long> accountIds, @Param("maxId") Long maxId);
+}
@@ -12,7 +12,10 @@ import java.time.LocalDateTime;
 @Getter @Setter @EqualsAndHashCode(of = "id")
 public class Notification {
 
-    @Id @GeneratedValue
+    //id를 50개씩 미리 받아 두어 INSERT 마다 시퀀스를 조회하지 않는다.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
 
     private String title;
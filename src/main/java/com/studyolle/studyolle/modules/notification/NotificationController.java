@@ -18,6 +18,7 @@ public class NotificationController {
 
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     @GetMapping("/notifications")
     public String getNotifications(@CurrentUser Account account, Model model){
@@ -32,7 +33,7 @@ public class NotificationController {
     @GetMapping("/notifications/old")
     public String getOldNotifications(@CurrentUser Account account, Model model){
         List<Notification> notifications = notificationRepository.findByAccountAndCheckedOrderByCreatedDateTimeDesc(account, true);
-        long numberOfNotChecked = notificationRepository.countByAccountAndChecked(account, false);
+        long numberOfNotChecked = unreadNotificationCounter.getCount(account.getId());
         putCategorizedNotifications(model, notifications, notifications.size(), numberOfNotChecked);
         model.addAttribute("isNew", false);
         return "notification/list";
@@ -40,6 +41,7 @@ public class NotificationController {
 
     @DeleteMapping("/notifications")
     public String deleteNotifications(@CurrentUser Account account){
+        //읽은 알림만 지우므로 읽지 않은 알림 개수는 그대로다.
         notificationRepository.deleteByAccountAndChecked(account, true);
         return "redirect:/notifications";
     }
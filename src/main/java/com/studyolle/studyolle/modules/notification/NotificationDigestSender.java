@@ -0,0 +1,87 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.studyolle.studyolle.infra.config.AppProperties;
+import com.studyolle.studyolle.infra.mail.EmailMessage;
+import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.modules.account.Account;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+//모아 둔 소식을 계정별로 한 통의 요약 메일로 보낸다. 시작할 때의 마지막 id까지만 보내고, 그 뒤에 쌓인 건 다음 주기에 보낸다.
+@Slf4j
+@Component
+public class NotificationDigestSender {
+
+    static final int ACCOUNT_CHUNK_SIZE = 500;
+
+    private final DigestItemRepository digestItemRepository;
+    private final EmailService emailService;
+    private final TemplateEngine templateEngine;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public NotificationDigestSender(DigestItemRepository digestItemRepository, EmailService emailService,
+                                    TemplateEngine templateEngine, AppProperties appProperties,
+                                    PlatformTransactionManager transactionManager) {
+        this.digestItemRepository = digestItemRepository;
+        this.emailService = emailService;
+        this.templateEngine = templateEngine;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.digest-cron:0 0 8 * * *}")
+    public void sendDigests() {
+        Long maxId = digestItemRepository.findMaxId();
+        if (maxId == null) {
+            return;
+        }
+
+        Long lastAccountId = 0L;
+        int sent = 0;
+        while (lastAccountId != null) {
+            Long afterAccountId = lastAccountId;
+            List<Long> accountIds = digestItemRepository.findAccountIds(maxId, afterAccountId, PageRequest.of(0, ACCOUNT_CHUNK_SIZE));
+            transactionTemplate.executeWithoutResult(status -> sendChunk(accountIds, maxId));
+            sent += accountIds.size();
+            lastAccountId = accountIds.size() < ACCOUNT_CHUNK_SIZE ? null : accountIds.get(accountIds.size() - 1);
+        }
+        log.info("sent digest emails to {} accounts", sent);
+    }
+
+    private void sendChunk(List<Long> accountIds, Long maxId) {
+        if (accountIds.isEmpty()) {
+            return;
+        }
+
+        Map<Account, List<DigestItem>> itemsByAccount = digestItemRepository.findByAccountIdInAndIdLessThanEqualOrderById(accountIds, maxId)
+                .stream()
+                .collect(Collectors.groupingBy(DigestItem::getAccount, LinkedHashMap::new, Collectors.toList()));
+        itemsByAccount.forEach(this::sendDigest);
+        digestItemRepository.deleteByAccountIds(accountIds, maxId);
+    }
+
+    private void sendDigest(Account account, List<DigestItem> items) {
+        Context context = new Context();
+        context.setVariable("nickname", account.getNickname());
+        context.setVariable("items", items);
+        context.setVariable("host", appProperties.getHost());
+
+        emailService.sendEmail(EmailMessage.builder()
+                .to(account.getEmail())
+                .subject("스터디올래, 새 소식 " + items.size() + "건이 있습니다.")
+                .message(templateEngine.process("mail/digest", context))
+                .build());
+    }
+}
@@ -0,0 +1,36 @@
+package com.studyolle.studyolle.modules.notification;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"notification_type", "source_id"}))
+@Getter @Setter @EqualsAndHashCode(of = "id")
+public class NotificationFanOut {
+
+    @Id @GeneratedValue
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private NotificationType notificationType;
+
+    private Long sourceId;
+
+    private Long lastAccountId;
+
+    private boolean completed;
+
+    private LocalDateTime createdDateTime;
+
+    private LocalDateTime updatedDateTime;
+
+    public void checkpoint(Long lastAccountId, boolean completed) {
+        this.lastAccountId = lastAccountId;
+        this.completed = completed;
+        this.updatedDateTime = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,14 @@
+package com.studyolle.studyolle.modules.notification;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface NotificationFanOutRepository extends JpaRepository<NotificationFanOut, Long> {
+
+    NotificationFanOut findByNotificationTypeAndSourceId(NotificationType notificationType, Long sourceId);
+
+    List<NotificationFanOut> findByNotificationTypeAndCompletedOrderById(NotificationType notificationType, boolean completed);
+}
@@ -0,0 +1,103 @@
+package com.studyolle.studyolle.modules.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+//계정별 SSE 연결을 관리하고 새 알림을 연결된 브라우저로 밀어준다.
+//연결은 서블릿 비동기 요청이라 대기 중에는 스레드를 잡고 있지 않고, 전송할 때만 pushExecutor 스레드를 잠깐 쓴다.
+@Slf4j
+@Service
+public class NotificationPushService {
+
+    static final long TIMEOUT_MILLIS = 30 * 60 * 1000L;
+
+    private final Map<Long, Set<NotificationStream>> streams = new ConcurrentHashMap<>();
+
+    private final Executor pushExecutor;
+
+    public NotificationPushService(@Qualifier("pushExecutor") Executor pushExecutor) {
+        this.pushExecutor = pushExecutor;
+    }
+
+    public SseEmitter connect(Long accountId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MILLIS);
+        NotificationStream stream = new NotificationStream(accountId, emitter);
+        streams.computeIfAbsent(accountId, id -> ConcurrentHashMap.newKeySet()).add(stream);
+
+        emitter.onCompletion(() -> remove(stream));
+        emitter.onTimeout(() -> remove(stream));
+        emitter.onError(e -> remove(stream));
+
+        //연결 직후 한 번 보내 두어야 프록시가 응답을 버퍼링하지 않는다.
+        stream.offer(SseEmitter.event().comment("connected"), pushExecutor);
+        return emitter;
+    }
+
+    public void push(Collection<Notification> notifications) {
+        List<Notification> unreadNotifications = notifications.stream()
+                .filter(notification -> !notification.isChecked())
+                .collect(Collectors.toList());
+        if (unreadNotifications.isEmpty()) {
+            return;
+        }
+
+        //커밋되지 않은 알림이 화면에 먼저 나타나지 않도록 커밋 이후에 보낸다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(unreadNotifications);
+                }
+            });
+        } else {
+            send(unreadNotifications);
+        }
+    }
+
+    public int getConnectionCount() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    //연결이 끊긴 걸 알아채고, 중간 프록시가 유휴 연결을 끊지 않도록 주기적으로 주석 한 줄을 보낸다.
+    @Scheduled(fixedRate = 25_000)
+    public void sendHeartbeat() {
+        streams.values().forEach(accountStreams -> accountStreams.forEach(stream -> stream.heartbeat(pushExecutor)));
+    }
+
+    private void send(List<Notification> notifications) {
+        notifications.forEach(notification -> {
+            Set<NotificationStream> accountStreams = streams.get(notification.getAccount().getId());
+            if (accountStreams == null) {
+                return;
+            }
+            accountStreams.forEach(stream -> stream.offer(SseEmitter.event()
+                    .name("notification")
+                    .data(Map.of("title", notification.getTitle(),
+                            "link", notification.getLink(),
+                            "notificationType", notification.getNotificationType().name()), MediaType.APPLICATION_JSON),
+                    pushExecutor));
+        });
+    }
+
+    private void remove(NotificationStream stream) {
+        stream.close();
+        streams.computeIfPresent(stream.getAccountId(), (id, accountStreams) -> {
+            accountStreams.remove(stream);
+            return accountStreams.isEmpty() ? null : accountStreams;
+        });
+    }
+}
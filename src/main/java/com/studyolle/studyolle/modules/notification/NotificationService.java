@@ -5,6 +5,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -12,9 +13,14 @@ import java.util.List;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     public void markAsRead(List<Notification> notifications) {
+        List<Notification> unreadNotifications = notifications.stream()
+                .filter(notification -> !notification.isChecked())
+                .collect(Collectors.toList());
         notifications.forEach(notification -> notification.setChecked(true));
         notificationRepository.saveAll(notifications);
+        unreadNotificationCounter.decrement(unreadNotifications);
     }
 }
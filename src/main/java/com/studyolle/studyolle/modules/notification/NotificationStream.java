@@ -0,0 +1,104 @@
+package com.studyolle.studyolle.modules.notification;
+
+import lombok.Getter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+//SSE 연결 하나. 보낼 이벤트는 크기가 정해진 큐에 쌓고, 한 번에 한 스레드만 큐를 비우며 전송한다.
+class NotificationStream {
+
+    static final int BUFFER_SIZE = 32;
+
+    @Getter
+    private final Long accountId;
+
+    @Getter
+    private final SseEmitter emitter;
+
+    private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    private volatile boolean closed;
+
+    NotificationStream(Long accountId, SseEmitter emitter) {
+        this.accountId = accountId;
+        this.emitter = emitter;
+    }
+
+    //느린 클라이언트 때문에 큐가 차면 더 쌓지 않고, 다음 전송 때 새로고침하라는 이벤트 하나로 대신한다.
+    void offer(SseEmitter.SseEventBuilder event, Executor executor) {
+        if (closed) {
+            return;
+        }
+        if (!buffer.offer(event)) {
+            overflowed.set(true);
+        }
+        drain(executor, true);
+    }
+
+    //heartbeat은 연결을 살려 두는 용도라, 보낼 이벤트가 쌓여 있으면 그것만 다시 보내 보고 풀이 거절해도 새로고침 이벤트로 바꾸지 않는다.
+    void heartbeat(Executor executor) {
+        if (closed) {
+            return;
+        }
+        if (buffer.isEmpty()) {
+            buffer.offer(SseEmitter.event().comment("heartbeat"));
+        }
+        drain(executor, false);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    private void drain(Executor executor, boolean overflowOnReject) {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> send(executor));
+        } catch (RejectedExecutionException e) {
+            //풀이 가득 차서 받지 않았다. 쌓인 이벤트는 버리고 다음 offer 때 새로고침 이벤트부터 다시 보낸다.
+            draining.set(false);
+            if (overflowOnReject) {
+                overflowed.set(true);
+            }
+        }
+    }
+
+    private void send(Executor executor) {
+        try {
+            if (overflowed.getAndSet(false)) {
+                buffer.clear();
+                emitter.send(SseEmitter.event().name("overflow").data(""));
+            }
+            SseEmitter.SseEventBuilder event;
+            while (!closed && (event = buffer.poll()) != null) {
+                emitter.send(event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+            emitter.completeWithError(e);
+        } finally {
+            draining.set(false);
+        }
+        //마지막 poll 이후 draining을 풀기 전에 들어온 이벤트가 있으면 다시 비운다.
+        if (!closed && (!buffer.isEmpty() || overflowed.get())) {
+            drain(executor, true);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.studyolle.studyolle.modules.account.AccountSnapshot;
+import com.studyolle.studyolle.modules.account.CurrentUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequiredArgsConstructor
+public class NotificationStreamController {
+
+    private final NotificationPushService notificationPushService;
+
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentUser AccountSnapshot account) {
+        return notificationPushService.connect(account.getId());
+    }
+}
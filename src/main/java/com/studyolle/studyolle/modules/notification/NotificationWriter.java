@@ -0,0 +1,42 @@
+package com.studyolle.studyolle.modules.notification;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.List;
+
+//알림을 여러 건 저장할 때는 hibernate.jdbc.batch_size 만큼 모아서 INSERT 배치로 내보낸다.
+@Component
+@Transactional
+@RequiredArgsConstructor
+public class NotificationWriter {
+
+    static final int BATCH_SIZE = 100;
+
+    private final EntityManager entityManager;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationPushService notificationPushService;
+
+    public void write(Notification notification) {
+        writeAll(List.of(notification));
+    }
+
+    public void writeAll(Collection<Notification> notifications) {
+        int count = 0;
+        for (Notification notification : notifications) {
+            entityManager.persist(notification);
+            if (++count % BATCH_SIZE == 0) {
+                entityManager.flush();
+            }
+        }
+        entityManager.flush();
+        unreadNotificationCounter.increment(notifications);
+        notificationPushService.push(notifications);
+
+        //저장한 알림은 더 쓸 일이 없으니 영속성 컨텍스트에서 떼어내 메모리가 쌓이지 않게 한다.
+        notifications.forEach(entityManager::detach);
+    }
+}
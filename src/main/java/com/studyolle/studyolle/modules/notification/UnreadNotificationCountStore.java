@@ -0,0 +1,15 @@
+package com.studyolle.studyolle.modules.notification;
+
+import java.util.function.Function;
+
+//계정별 읽지 않은 알림 개수 저장소. 서버를 여러 대 띄울 때는 Redis 같은 공유 저장소 구현체를 @Primary 빈으로 등록한다.
+public interface UnreadNotificationCountStore {
+
+    //값이 없으면 loader로 세어서 넣는다. 세는 동안 들어온 증감은 센 값에 이어서 반영되어야 한다.
+    long get(Long accountId, Function<Long, Long> loader);
+
+    //값이 있을 때만 더한다. 없으면 다음 조회 때 DB에서 다시 센다.
+    void addIfPresent(Long accountId, long delta);
+
+    void evict(Long accountId);
+}
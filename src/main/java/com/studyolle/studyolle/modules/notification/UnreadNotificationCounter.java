@@ -0,0 +1,55 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.studyolle.studyolle.modules.account.Account;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    private final UnreadNotificationCountStore unreadNotificationCountStore;
+    private final NotificationRepository notificationRepository;
+
+    public long getCount(Long accountId) {
+        return unreadNotificationCountStore.get(accountId, id -> notificationRepository.countByAccountIdAndChecked(id, false));
+    }
+
+    //새로 저장한 알림 중 읽지 않은 것만큼 더한다.
+    public void increment(Collection<Notification> notifications) {
+        add(notifications.stream().filter(notification -> !notification.isChecked()).collect(Collectors.toList()), 1);
+    }
+
+    //읽음 처리하거나 지운 읽지 않은 알림만큼 뺀다.
+    public void decrement(Collection<Notification> unreadNotifications) {
+        add(unreadNotifications, -1);
+    }
+
+    //롤백된 변경이 개수에 반영되지 않도록 커밋 이후에 더하고 뺀다.
+    private void add(Collection<Notification> notifications, int sign) {
+        Map<Long, Long> countsByAccountId = notifications.stream()
+                .collect(Collectors.groupingBy(notification -> notification.getAccount().getId(), Collectors.counting()));
+        if (countsByAccountId.isEmpty()) {
+            return;
+        }
+
+        Runnable apply = () -> countsByAccountId.forEach((accountId, count) ->
+                unreadNotificationCountStore.addIfPresent(accountId, sign * count));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+}
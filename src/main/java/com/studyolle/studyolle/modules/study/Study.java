@@ -1,7 +1,8 @@
 package com.studyolle.studyolle.modules.study;
 
+import com.studyolle.studyolle.infra.image.ImageService;
+import com.studyolle.studyolle.infra.image.ImageVariant;
 import com.studyolle.studyolle.modules.account.Account;
-import com.studyolle.studyolle.modules.account.UserAccount;
 import com.studyolle.studyolle.modules.tag.Tag;
 import com.studyolle.studyolle.modules.zone.Zone;
 import lombok.*;
@@ -13,6 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.StringJoiner;
 
 @Entity
 @Getter @Setter @EqualsAndHashCode(of = "id")
@@ -38,8 +40,8 @@ public class Study {
     @Lob @Basic(fetch = FetchType.EAGER)
     private String fullDescription;
 
-    @Lob @Basic(fetch = FetchType.EAGER)
-    private String image;
+    //이미지 본문은 이미지 저장소에 두고 키(내용 해시)만 들고 있는다.
+    private String imageKey;
 
     @ManyToMany
     private Set<Tag> tags = new HashSet<>();
@@ -61,33 +63,33 @@ public class Study {
 
     private boolean useBanner;
 
+    //StudyService가 StudyRepository의 UPDATE로만 바꾸고, 스터디 정보를 고쳐 저장할 때는 덮어쓰지 않는다.
     @ColumnDefault("0")
-    private Integer memberCount;
+    @Column(updatable = false)
+    private Integer memberCount = 0;
+
+    //검색용 색인 컬럼 (제목, 짧은 소개, 태그, 지역을 소문자로 이어붙임)
+    @Column(columnDefinition = "text")
+    private String searchText;
 
     public void addManager(Account account) {
         this.managers.add(account);
     }
 
-    public boolean isJoinable(UserAccount userAccount){
-        Account account = userAccount.getAccount();
-        return this.isPublished() && this.isRecruiting()
-                && !this.members.contains(account) && !this.managers.contains(account);
-    }
-
-    public boolean isMember(UserAccount userAccount) {
-        return this.members.contains(userAccount.getAccount());
+    public void addMember(Account account){
+        this.members.add(account);
     }
 
-    public boolean isManager(UserAccount userAccount){
-        return this.managers.contains(userAccount.getAccount());
+    public String getImage(){
+        return imageKey != null ? ImageService.url(imageKey) : "/images/default_banner.png";
     }
 
-    public void addMember(Account account){
-        this.members.add(account);
+    public String getBannerImage(){
+        return imageKey != null ? ImageService.url(imageKey, ImageVariant.LARGE) : "/images/default_banner.png";
     }
 
-    public String getImage(){
-        return image != null ? image : "/images/default_banner.png";
+    public String getThumbnail(){
+        return imageKey != null ? ImageService.url(imageKey, ImageVariant.THUMBNAIL) : "/images/default_banner.png";
     }
 
     public void publish() {
@@ -138,17 +140,16 @@ public class Study {
         return URLEncoder.encode(this.path, StandardCharsets.UTF_8);
     }
 
-    public void addMemberCount(Account account) {
-        this.getMembers().add(account);
-        this.memberCount++;
-    }
-
-    public void removeMember(Account account) {
-        this.getMembers().remove(account);
-        this.memberCount--;
-    }
-
-    public boolean isManagerBy(Account account) {
-        return this.getManagers().contains(account);
+    public void updateSearchText() {
+        StringJoiner joiner = new StringJoiner(" ");
+        if (this.title != null) {
+            joiner.add(this.title);
+        }
+        if (this.shortDescription != null) {
+            joiner.add(this.shortDescription);
+        }
+        this.tags.forEach(tag -> joiner.add(tag.getTitle()));
+        this.zones.forEach(zone -> joiner.add(zone.getCity()).add(zone.getLocalNameOfCity()));
+        this.searchText = joiner.toString().toLowerCase();
     }
 }
@@ -0,0 +1,39 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.modules.tag.Tag;
+import com.studyolle.studyolle.modules.zone.Zone;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class StudyCard {
+
+    private final String path;
+
+    private final String title;
+
+    private final String shortDescription;
+
+    private final String thumbnail;
+
+    private final List<Tag> tags;
+
+    private final List<Zone> zones;
+
+    private final Integer memberCount;
+
+    private final LocalDateTime publishedDateTime;
+
+    public StudyCard(Study study) {
+        this.path = study.getPath();
+        this.title = study.getTitle();
+        this.shortDescription = study.getShortDescription();
+        this.thumbnail = study.getThumbnail();
+        this.tags = List.copyOf(study.getTags());
+        this.zones = List.copyOf(study.getZones());
+        this.memberCount = study.getMemberCount();
+        this.publishedDateTime = study.getPublishedDateTime();
+    }
+}
@@ -0,0 +1,62 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+public class StudyCardCache {
+
+    private static final String RECENT_STUDIES = "recent";
+
+    private final StudyRepository studyRepository;
+    private final LoadingCache<String, List<StudyCard>> cache;
+
+    public StudyCardCache(StudyRepository studyRepository, MeterRegistry meterRegistry) {
+        this.studyRepository = studyRepository;
+        //같은 키에 대한 동시 요청은 한번만 로딩하고, 만료 전에는 기존 값을 주면서 백그라운드에서 갱신한다.
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(10)
+                .refreshAfterWrite(Duration.ofMinutes(1))
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .recordStats()
+                .build(key -> loadRecentStudies());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "studyCards");
+    }
+
+    public List<StudyCard> getRecentStudies() {
+        return cache.get(RECENT_STUDIES);
+    }
+
+    public void evictIfPublished(Study study) {
+        if (!study.isPublished()) {
+            return;
+        }
+
+        //커밋 전에 비우면 다른 요청이 변경 전 데이터를 다시 캐시할 수 있다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll();
+                }
+            });
+        } else {
+            cache.invalidateAll();
+        }
+    }
+
+    private List<StudyCard> loadRecentStudies() {
+        return studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false).stream()
+                .map(StudyCard::new)
+                .collect(Collectors.toList());
+    }
+}
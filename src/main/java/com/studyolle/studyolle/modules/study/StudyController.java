@@ -26,7 +26,6 @@ public class StudyController {
     private final StudyService studyService;
     private final ModelMapper modelMapper;
     private final StudyFormValidator studyFormValidator;
-    private final StudyRepository studyRepository;
 
     @InitBinder("studyForm")
     public void studyFormInitBinder(WebDataBinder webDataBinder){
@@ -63,7 +62,7 @@ public class StudyController {
 
     @GetMapping("/study/{path}/members")
     public String viewStudyMembers(@CurrentUser Account account, @PathVariable String path, Model model){
-        Study study = studyService.getStudy(path);
+        Study study = studyService.getStudyWithMembers(path);
         model.addAttribute(account);
         model.addAttribute(study);
 
@@ -73,14 +72,14 @@ public class StudyController {
     //join,leave는 원래 @PostMapping으로 해야됨 html form으로 감싸면 UI가 안맞아서 이렇게 해놓음
     @GetMapping("/study/{path}/join")
     public String joinStudy(@CurrentUser Account account, @PathVariable String path){
-        Study study = studyRepository.findStudyWithMembersByPath(path);
+        Study study = studyService.getStudyToEnroll(path);
         studyService.addMember(study, account);
         return "redirect:/study/" + study.getEncodedPath() + "/members";
     }
 
     @GetMapping("/study/{path}/leave")
     public String leaveStudy(@CurrentUser Account account, @PathVariable String path){
-        Study study = studyRepository.findStudyWithMembersByPath(path);
+        Study study = studyService.getStudyToEnroll(path);
         studyService.removeMember(study, account);
         return "redirect:/study/"+ study.getEncodedPath() + "/members";
     }
@@ -0,0 +1,32 @@
+package com.studyolle.studyolle.modules.study;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@IdClass(StudyMatch.StudyMatchId.class)
+@Table(indexes = @Index(name = "study_match_account_idx", columnList = "account_id, published_date_time"))
+@Getter @NoArgsConstructor
+public class StudyMatch {
+
+    @Id
+    private Long accountId;
+
+    @Id
+    private Long studyId;
+
+    private LocalDateTime publishedDateTime;
+
+    @Getter @EqualsAndHashCode
+    @NoArgsConstructor @AllArgsConstructor
+    public static class StudyMatchId implements Serializable {
+
+        private Long accountId;
+
+        private Long studyId;
+
+    }
+}
@@ -0,0 +1,51 @@
+package com.studyolle.studyolle.modules.study;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface StudyMatchRepository extends JpaRepository<StudyMatch, StudyMatch.StudyMatchId> {
+
+    String INSERT_MATCHES = "INSERT INTO study_match (account_id, study_id, published_date_time) " +
+            "SELECT DISTINCT atg.account_id, s.id, s.published_date_time " +
+            "FROM study s " +
+            "JOIN study_tags st ON st.study_id = s.id " +
+            "JOIN account_tags atg ON atg.tags_id = st.tags_id " +
+            "JOIN account_zones azn ON azn.account_id = atg.account_id " +
+            "JOIN study_zones sz ON sz.study_id = s.id AND sz.zones_id = azn.zones_id " +
+            "WHERE s.published = true AND s.closed = false ";
+
+    @Query("select m.studyId from StudyMatch m where m.accountId = :accountId order by m.publishedDateTime desc")
+    List<Long> findStudyIdsByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_MATCHES + "AND s.id = :studyId ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMatchesOfStudy(@Param("studyId") Long studyId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_MATCHES + "AND atg.account_id = :accountId ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMatchesOfAccount(@Param("accountId") Long accountId);
+
+    @Transactional
+    @Modifying
+    @Query(value = INSERT_MATCHES + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertAllMatches();
+
+    @Transactional
+    @Modifying
+    @Query("delete from StudyMatch m where m.studyId = :studyId")
+    int deleteByStudyId(@Param("studyId") Long studyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from StudyMatch m where m.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+}
@@ -0,0 +1,56 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.modules.account.event.AccountInterestsChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class StudyMatchService {
+
+    private static final int RECOMMENDATION_SIZE = 9;
+
+    private final StudyMatchRepository studyMatchRepository;
+    private final StudyRepository studyRepository;
+
+    //@PostConstruct는 프록시를 거치지 않아 트랜잭션이 걸리지 않으므로, 준비가 끝난 뒤 이벤트로 프록시를 통해 부른다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void initStudyMatches() {
+        if (studyMatchRepository.count() == 0) {
+            int matches = studyMatchRepository.insertAllMatches();
+            log.info("precomputed {} study matches", matches);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<Study> getRecommendedStudies(Long accountId) {
+        List<Long> studyIds = studyMatchRepository.findStudyIdsByAccountId(accountId, PageRequest.of(0, RECOMMENDATION_SIZE));
+        return studyRepository.findWithTagsAndZonesByIdIn(studyIds);
+    }
+
+    public void refreshMatches(Study study) {
+        if (!study.isPublished()) {
+            return;
+        }
+
+        studyMatchRepository.deleteByStudyId(study.getId());
+        if (!study.isClosed()) {
+            studyMatchRepository.insertMatchesOfStudy(study.getId());
+        }
+    }
+
+    @EventListener
+    public void handleAccountInterestsChangedEvent(AccountInterestsChangedEvent event) {
+        studyMatchRepository.deleteByAccountId(event.getAccountId());
+        studyMatchRepository.insertMatchesOfAccount(event.getAccountId());
+    }
+}
@@ -0,0 +1,58 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.modules.account.UserAccount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.function.BooleanSupplier;
+
+//멤버/관리자 여부를 멤버 목록 전체를 읽지 않고 조인 테이블의 (study_id, account_id) 기본키로 확인한다.
+//뷰에서 같은 질문을 여러 번 하므로 결과는 요청 안에서만 기억한다.
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class StudyMembershipService {
+
+    private static final String CACHE_PREFIX = StudyMembershipService.class.getName() + ".";
+
+    private final StudyRepository studyRepository;
+
+    public boolean isMember(Study study, UserAccount userAccount) {
+        return isMember(study.getId(), userAccount.getAccount().getId());
+    }
+
+    public boolean isManager(Study study, UserAccount userAccount) {
+        return isManager(study.getId(), userAccount.getAccount().getId());
+    }
+
+    public boolean isJoinable(Study study, UserAccount userAccount) {
+        return study.isPublished() && study.isRecruiting()
+                && !isMember(study, userAccount) && !isManager(study, userAccount);
+    }
+
+    public boolean isMember(Long studyId, Long accountId) {
+        return cached("member", studyId, accountId, () -> studyRepository.existsByIdAndMembersId(studyId, accountId));
+    }
+
+    public boolean isManager(Long studyId, Long accountId) {
+        return cached("manager", studyId, accountId, () -> studyRepository.existsByIdAndManagersId(studyId, accountId));
+    }
+
+    private boolean cached(String role, Long studyId, Long accountId, BooleanSupplier query) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return query.getAsBoolean();
+        }
+
+        String name = CACHE_PREFIX + role + ":" + studyId + ":" + accountId;
+        Boolean result = (Boolean) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (result == null) {
+            result = query.getAsBoolean();
+            attributes.setAttribute(name, result, RequestAttributes.SCOPE_REQUEST);
+        }
+        return result;
+    }
+}
@@ -6,6 +6,9 @@ import com.studyolle.studyolle.modules.tag.Tag;
 import com.studyolle.studyolle.modules.zone.Zone;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -15,9 +18,33 @@ import java.util.Set;
 public interface StudyRepository extends JpaRepository<Study, Long>, StudyRepositoryExtension {
     boolean existsByPath(String path);
 
-    @EntityGraph(attributePaths = {"tags", "zones", "managers", "members"}, type = EntityGraph.EntityGraphType.LOAD)
+    //멤버 여부는 StudyMembershipService로 확인하므로 멤버 목록은 읽지 않는다.
+    @EntityGraph(attributePaths = {"tags", "zones"}, type = EntityGraph.EntityGraphType.LOAD)
     Study findByPath(String path);
 
+    @EntityGraph(attributePaths = {"tags", "zones", "managers", "members"}, type = EntityGraph.EntityGraphType.LOAD)
+    Study findStudyWithTagsAndZonesAndMembersByPath(String path);
+
+    boolean existsByIdAndMembersId(Long id, Long accountId);
+
+    boolean existsByIdAndManagersId(Long id, Long accountId);
+
+    //가입/탈퇴는 멤버 목록을 읽지 않고 조인 테이블 행 하나와 memberCount만 바꾼다.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO study_members (study_id, members_id) VALUES (:studyId, :accountId) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMember(@Param("studyId") Long studyId, @Param("accountId") Long accountId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM study_members WHERE study_id = :studyId AND members_id = :accountId", nativeQuery = true)
+    int deleteMember(@Param("studyId") Long studyId, @Param("accountId") Long accountId);
+
+    @Transactional
+    @Modifying
+    @Query("update Study s set s.memberCount = coalesce(s.memberCount, 0) + :delta where s.id = :studyId")
+    int addMemberCount(@Param("studyId") Long studyId, @Param("delta") int delta);
+
     @EntityGraph(attributePaths = {"tags", "managers"})
     Study findStudyWithTagsByPath(String path);
 
@@ -27,9 +54,6 @@ public interface StudyRepository extends JpaRepository<Study, Long>, StudyReposi
     @EntityGraph(attributePaths = "managers")
     Study findStudyWithManagersByPath(String path);
 
-    @EntityGraph(attributePaths = "members")
-    Study findStudyWithMembersByPath(String path);
-
     Study findStudyOnlyByPath(String path);
 
     @EntityGraph(attributePaths = {"tags", "zones"})
@@ -1,18 +1,18 @@
 package com.studyolle.studyolle.modules.study;
 
-import com.studyolle.studyolle.modules.tag.Tag;
-import com.studyolle.studyolle.modules.zone.Zone;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.Set;
 
 @Transactional(readOnly = true)
 public interface StudyRepositoryExtension {
 
     Page<Study> findByKeyword(String keyword, Pageable pageable);
 
-    List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones);
+    Slice<Study> findByKeywordAfter(String keyword, Long lastStudyId, String sortProperty, int size);
+
+    List<Study> findWithTagsAndZonesByIdIn(List<Long> ids);
 }
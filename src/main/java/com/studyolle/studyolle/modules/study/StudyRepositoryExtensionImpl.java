@@ -1,53 +1,121 @@
 package com.studyolle.studyolle.modules.study;
 
-import com.querydsl.core.QueryResults;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
-import com.studyolle.studyolle.modules.account.QAccount;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.studyolle.studyolle.modules.tag.QTag;
-import com.studyolle.studyolle.modules.tag.Tag;
 import com.studyolle.studyolle.modules.zone.QZone;
-import com.studyolle.studyolle.modules.zone.Zone;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.data.support.PageableExecutionUtils;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.studyolle.studyolle.modules.study.QStudy.study;
 
 public class StudyRepositoryExtensionImpl extends QuerydslRepositorySupport implements StudyRepositoryExtension{
+    private static final String RELEVANCE = "relevance";
+    private static final String MEMBER_COUNT = "memberCount";
+
+
     public StudyRepositoryExtensionImpl() {
         super(Study.class);
     }
 
     @Override
     public Page<Study> findByKeyword(String keyword, Pageable pageable) {
-        JPQLQuery<Study> query = from(study).where(study.published.isTrue()
-                .and(study.title.containsIgnoreCase(keyword))
-                .or(study.tags.any().title.containsIgnoreCase(keyword))
-                .or(study.zones.any().localNameOfCity.containsIgnoreCase(keyword)))
-                .leftJoin(study.tags, QTag.tag).fetchJoin()
-                .leftJoin(study.zones, QZone.zone).fetchJoin()
-                .distinct();
-        JPQLQuery<Study> pageableQuery = getQuerydsl().applyPagination(pageable, query);
-        QueryResults<Study> fetchResults = pageableQuery.fetchResults();
-        return new PageImpl<>(fetchResults.getResults(), pageable, fetchResults.getTotal());
+        String searchKeyword = keyword.toLowerCase();
+        JPAQuery<Long> idQuery = new JPAQuery<>(getEntityManager()).select(study.id).from(study)
+                .where(keywordCondition(searchKeyword));
+        if (pageable.getSort().getOrderFor(RELEVANCE) != null) {
+            idQuery.orderBy(relevance(searchKeyword).desc(), study.publishedDateTime.desc());
+        } else if (pageable.getSort().getOrderFor(MEMBER_COUNT) != null) {
+            //findByKeywordAfter와 같은 식으로 정렬해야 페이지 번호에서 커서로 넘어갈 때 빠지거나 겹치는 스터디가 없다.
+            idQuery.orderBy(memberCount().desc());
+        } else {
+            idQuery.orderBy(study.publishedDateTime.desc());
+        }
+        List<Long> ids = idQuery.orderBy(study.id.desc())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        //count는 마지막 페이지처럼 content 만으로 전체 개수를 알 수 있으면 생략된다.
+        return PageableExecutionUtils.getPage(findWithTagsAndZonesByIdIn(ids), pageable,
+                () -> new JPAQuery<>(getEntityManager()).select(study.count()).from(study)
+                        .where(keywordCondition(searchKeyword))
+                        .fetchOne());
+    }
+
+    @Override
+    public Slice<Study> findByKeywordAfter(String keyword, Long lastStudyId, String sortProperty, int size) {
+        String searchKeyword = keyword.toLowerCase();
+        JPAQuery<Long> idQuery = new JPAQuery<>(getEntityManager()).select(study.id).from(study)
+                .where(keywordCondition(searchKeyword));
+
+        QStudy last = new QStudy("last");
+        if (MEMBER_COUNT.equals(sortProperty)) {
+            NumberExpression<Integer> memberCount = memberCount();
+            if (lastStudyId != null) {
+                JPQLQuery<Integer> lastMemberCount = JPAExpressions.select(last.memberCount.coalesce(0))
+                        .from(last).where(last.id.eq(lastStudyId));
+                idQuery.where(memberCount.lt(lastMemberCount)
+                        .or(memberCount.eq(lastMemberCount).and(study.id.lt(lastStudyId))));
+            }
+            idQuery.orderBy(memberCount.desc(), study.id.desc());
+        } else {
+            if (lastStudyId != null) {
+                JPQLQuery<LocalDateTime> lastPublishedDateTime = JPAExpressions.select(last.publishedDateTime)
+                        .from(last).where(last.id.eq(lastStudyId));
+                idQuery.where(study.publishedDateTime.lt(lastPublishedDateTime)
+                        .or(study.publishedDateTime.eq(lastPublishedDateTime).and(study.id.lt(lastStudyId))));
+            }
+            idQuery.orderBy(study.publishedDateTime.desc(), study.id.desc());
+        }
+
+        List<Long> ids = idQuery.limit(size + 1).fetch();
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        return new SliceImpl<>(findWithTagsAndZonesByIdIn(ids), PageRequest.of(0, size), hasNext);
+    }
+
+    private NumberExpression<Integer> memberCount() {
+        return study.memberCount.coalesce(0);
+    }
+
+    private BooleanExpression keywordCondition(String searchKeyword) {
+        return study.published.isTrue().and(study.searchText.contains(searchKeyword));
+    }
+
+    private NumberExpression<Double> relevance(String keyword) {
+        return Expressions.numberTemplate(Double.class, "function('word_similarity', {0}, {1})", keyword, study.searchText);
     }
 
     @Override
-    public List<Study> findByAccount(Set<Tag> tags, Set<Zone> zones) {
-        JPQLQuery<Study> query = from(study).where(study.published.isTrue()
-                        .and(study.closed.isFalse())
-                        .and(study.tags.any().in(tags))
-                        .and(study.zones.any().in(zones)))
+    public List<Study> findWithTagsAndZonesByIdIn(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Study> studies = from(study).where(study.id.in(ids))
                 .leftJoin(study.tags, QTag.tag).fetchJoin()
                 .leftJoin(study.zones, QZone.zone).fetchJoin()
-                .orderBy(study.publishedDateTime.desc())
                 .distinct()
-                .limit(9);
-
-        return query.fetch();
+                .fetch().stream()
+                .collect(Collectors.toMap(Study::getId, Function.identity()));
+        return ids.stream().map(studies::get).collect(Collectors.toList());
     }
 }
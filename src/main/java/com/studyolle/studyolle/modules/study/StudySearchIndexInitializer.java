@@ -0,0 +1,34 @@
+package com.studyolle.studyolle.modules.study;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class StudySearchIndexInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initSearchIndex() {
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS study_search_text_trgm_idx " +
+                "ON study USING gin (search_text gin_trgm_ops)");
+
+        //search_text가 없는 기존 스터디는 한번에 채워 넣는다.
+        int indexed = jdbcTemplate.update("UPDATE study s SET search_text = lower(concat_ws(' ', s.title, s.short_description, " +
+                "(SELECT string_agg(t.title, ' ') FROM study_tags st JOIN tag t ON t.id = st.tags_id WHERE st.study_id = s.id), " +
+                "(SELECT string_agg(z.city || ' ' || z.local_name_of_city, ' ') FROM study_zones sz JOIN zone z ON z.id = sz.zones_id WHERE sz.study_id = s.id))) " +
+                "WHERE s.search_text IS NULL");
+        if (indexed > 0) {
+            log.info("indexed {} studies for search", indexed);
+        }
+    }
+}
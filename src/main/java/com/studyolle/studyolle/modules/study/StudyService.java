@@ -1,6 +1,8 @@
 package com.studyolle.studyolle.modules.study;
 
+import com.studyolle.studyolle.infra.image.ImageService;
 import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountSnapshot;
 import com.studyolle.studyolle.modules.study.event.StudyCreatedEvent;
 import com.studyolle.studyolle.modules.study.event.StudyUpdateEvent;
 import com.studyolle.studyolle.modules.study.form.StudyForm;
@@ -15,6 +17,7 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.HashSet;
 
@@ -27,8 +30,13 @@ public class StudyService {
     private final ModelMapper modelMapper;
     private final ApplicationEventPublisher eventPublisher;
     private final TagRepository tagRepository;
+    private final StudyCardCache studyCardCache;
+    private final StudyMatchService studyMatchService;
+    private final ImageService imageService;
+    private final StudyMembershipService studyMembershipService;
 
     public Study createNewStudy(Study study, Account account) {
+        study.updateSearchText();
         Study newStudy = studyRepository.save(study);
         newStudy.addManager(account);
         return newStudy;
@@ -36,7 +44,7 @@ public class StudyService {
 
     public Study getStudyToUpdate(Account account, String path) {
         Study study = this.getStudy(path);
-        checkIfManager(account,study);
+        checkIfManager(account.getId(), study);
         return study;
     }
 
@@ -46,13 +54,22 @@ public class StudyService {
         return study;
     }
 
+    public Study getStudyWithMembers(String path) {
+        Study study = this.studyRepository.findStudyWithTagsAndZonesAndMembersByPath(path);
+        checkIfExistingStudy(path, study);
+        return study;
+    }
+
     public void updateStudyDescription(Study study, StudyDescriptionForm studyDescriptionForm){
         modelMapper.map(studyDescriptionForm, study);
+        study.updateSearchText();
+        studyCardCache.evictIfPublished(study);
         eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디 소개를 수정했습니다."));
     }
 
-    public void updateStudyImage(Study study, String image) {
-        study.setImage(image);
+    public void updateStudyImage(Study study, MultipartFile image) {
+        study.setImageKey(imageService.save(image));
+        studyCardCache.evictIfPublished(study);
     }
 
     public void enableStudyBanner(Study study) {
@@ -65,38 +82,50 @@ public class StudyService {
 
     public void addTag(Study study, Tag tag) {
         study.getTags().add(tag);
+        study.updateSearchText();
+        studyCardCache.evictIfPublished(study);
+        studyMatchService.refreshMatches(study);
     }
 
     public void removeTag(Study study, Tag tag){
         study.getTags().remove(tag);
+        study.updateSearchText();
+        studyCardCache.evictIfPublished(study);
+        studyMatchService.refreshMatches(study);
     }
 
     public void addZone(Study study, Zone zone){
         study.getZones().add(zone);
+        study.updateSearchText();
+        studyCardCache.evictIfPublished(study);
+        studyMatchService.refreshMatches(study);
     }
 
     public void removeZone(Study study, Zone zone){
         study.getZones().remove(zone);
+        study.updateSearchText();
+        studyCardCache.evictIfPublished(study);
+        studyMatchService.refreshMatches(study);
     }
 
     public Study getStudyToUpdateTag(Account account, String path){
         Study study = studyRepository.findStudyWithTagsByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
+        checkIfManager(account.getId(), study);
         return study;
     }
 
     public Study getStudyToUpdateZone(Account account, String path) {
         Study study = studyRepository.findStudyWithZonesByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
+        checkIfManager(account.getId(), study);
         return study;
     }
 
     public Study getStudyToUpdateStatus(Account account, String path) {
         Study study = studyRepository.findStudyWithManagersByPath(path);
         checkIfExistingStudy(path, study);
-        checkIfManager(account, study);
+        checkIfManager(account.getId(), study);
         return study;
     }
 
@@ -106,19 +135,23 @@ public class StudyService {
         }
     }
 
-    private void checkIfManager(Account account, Study study) {
-        if (!study.isManagerBy(account)){
+    private void checkIfManager(Long accountId, Study study) {
+        if (!studyMembershipService.isManager(study.getId(), accountId)){
             throw new AccessDeniedException("해당 기능을 사용할 수 없습니다.");
         }
     }
 
     public void publish(Study study){
         study.publish();
+        studyCardCache.evictIfPublished(study);
+        studyMatchService.refreshMatches(study);
         this.eventPublisher.publishEvent(new StudyCreatedEvent(study));
     }
 
     public void close(Study study){
         study.close();
+        studyCardCache.evictIfPublished(study);
+        studyMatchService.refreshMatches(study);
         eventPublisher.publishEvent(new StudyUpdateEvent(study, "스터디를 종료했습니다."));
     }
 
@@ -150,6 +183,8 @@ public class StudyService {
 
     public void updateStudyTitle(Study study, String newTitle){
         study.setTitle(newTitle);
+        study.updateSearchText();
+        studyCardCache.evictIfPublished(study);
     }
 
     public void remove(Study study) {
@@ -160,12 +195,25 @@ public class StudyService {
         }
     }
 
+    //이미 가입한 경우에는 행이 추가되지 않으므로 memberCount도 그대로다. 동시에 가입해도 study 행 잠금으로 순서대로 더해진다.
     public void addMember(Study study, Account account) {
-        study.addMemberCount(account);
+        if (studyRepository.insertMember(study.getId(), account.getId()) > 0) {
+            studyRepository.addMemberCount(study.getId(), 1);
+        }
     }
 
     public void removeMember(Study study, Account account){
-        study.removeMember(account);
+        if (studyRepository.deleteMember(study.getId(), account.getId()) > 0) {
+            studyRepository.addMemberCount(study.getId(), -1);
+        }
+    }
+
+    //현장에서 체크인할 때는 계정과 스터디의 연관 컬렉션을 읽지 않는다.
+    public Study getStudyToCheckIn(AccountSnapshot account, String path) {
+        Study study = studyRepository.findStudyOnlyByPath(path);
+        checkIfExistingStudy(path, study);
+        checkIfManager(account.getId(), study);
+        return study;
     }
 
     public Study getStudyToEnroll(String path) {
@@ -19,6 +19,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
@@ -77,9 +78,19 @@ public class StudySettingsController {
 
     @PostMapping("/banner")
     public String studyImageSubmit(@CurrentUser Account account, @PathVariable String path,
-                                   String image, RedirectAttributes attributes){
+                                   MultipartFile image, RedirectAttributes attributes){
         Study study = studyService.getStudyToUpdate(account, path);
-        studyService.updateStudyImage(study, image);
+        if (image == null || image.isEmpty()) {
+            attributes.addFlashAttribute("message", "업로드할 이미지를 선택하세요.");
+            return "redirect:/study/" + getPath(path) + "/settings/banner";
+        }
+
+        try {
+            studyService.updateStudyImage(study, image);
+        } catch (IllegalArgumentException e) {
+            attributes.addFlashAttribute("message", e.getMessage());
+            return "redirect:/study/" + getPath(path) + "/settings/banner";
+        }
         attributes.addFlashAttribute("message", "스터디 이미지를 수정했습니다.");
         return "redirect:/study/" + getPath(path) + "/settings/banner";
     }
@@ -1,15 +1,23 @@
 package com.studyolle.studyolle.modules.study.event;
 
+import com.studyolle.studyolle.infra.outbox.OutboxPublishable;
 import com.studyolle.studyolle.modules.study.Study;
-import lombok.Data;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEvent;
 
 @Getter
 @RequiredArgsConstructor
-public class StudyCreatedEvent {
+public class StudyCreatedEvent implements OutboxPublishable {
 
     private final Study study;
 
+    @Override
+    public Long getAggregateId() {
+        return study.getId();
+    }
+
+    @Override
+    public String getMessage() {
+        return null;
+    }
 }
@@ -0,0 +1,169 @@
+package com.studyolle.studyolle.modules.study.event;
+
+import com.studyolle.studyolle.infra.mail.EmailMessage;
+import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.infra.mail.MailTemplate;
+import com.studyolle.studyolle.infra.mail.MailTemplates;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.notification.DigestItem;
+import com.studyolle.studyolle.modules.notification.DigestItemRepository;
+import com.studyolle.studyolle.modules.notification.Notification;
+import com.studyolle.studyolle.modules.notification.NotificationFanOut;
+import com.studyolle.studyolle.modules.notification.NotificationFanOutRepository;
+import com.studyolle.studyolle.modules.notification.NotificationWriter;
+import com.studyolle.studyolle.modules.notification.NotificationType;
+import com.studyolle.studyolle.modules.study.Study;
+import com.studyolle.studyolle.modules.study.StudyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+//새 스터디 알림을 관심 계정 id 순서대로 청크 단위로 보낸다.
+//청크마다 알림 저장과 체크포인트 갱신을 한 트랜잭션으로 커밋하므로 중간에 죽어도 마지막 청크 다음부터 이어서 보낸다.
+@Slf4j
+@Component
+public class StudyCreatedFanOut {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final StudyRepository studyRepository;
+    private final AccountRepository accountRepository;
+    private final NotificationWriter notificationWriter;
+    private final NotificationFanOutRepository notificationFanOutRepository;
+    private final DigestItemRepository digestItemRepository;
+    private final EmailService emailService;
+    private final MailTemplates mailTemplates;
+    private final Executor fanOutExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    public StudyCreatedFanOut(StudyRepository studyRepository, AccountRepository accountRepository,
+                              NotificationWriter notificationWriter,
+                              NotificationFanOutRepository notificationFanOutRepository,
+                              DigestItemRepository digestItemRepository,
+                              EmailService emailService, MailTemplates mailTemplates,
+                              @Qualifier("fanOutExecutor") Executor fanOutExecutor,
+                              PlatformTransactionManager transactionManager) {
+        this.studyRepository = studyRepository;
+        this.accountRepository = accountRepository;
+        this.notificationWriter = notificationWriter;
+        this.notificationFanOutRepository = notificationFanOutRepository;
+        this.digestItemRepository = digestItemRepository;
+        this.emailService = emailService;
+        this.mailTemplates = mailTemplates;
+        this.fanOutExecutor = fanOutExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    //팬아웃 체크포인트는 호출한 트랜잭션에서 만들고, 실제 발송은 커밋 후 fanOutExecutor에서 청크 단위로 진행한다.
+    public void start(Long studyId) {
+        if (notificationFanOutRepository.findByNotificationTypeAndSourceId(NotificationType.STUDY_CREATED, studyId) != null) {
+            log.info("study created fan-out of study {} already exists", studyId);
+            return;
+        }
+
+        NotificationFanOut fanOut = new NotificationFanOut();
+        fanOut.setNotificationType(NotificationType.STUDY_CREATED);
+        fanOut.setSourceId(studyId);
+        fanOut.setCreatedDateTime(LocalDateTime.now());
+        Long fanOutId = notificationFanOutRepository.save(fanOut).getId();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fanOutExecutor.execute(() -> run(fanOutId));
+            }
+        });
+    }
+
+    //서버가 재시작되면 끝나지 않은 팬아웃을 체크포인트부터 이어서 진행한다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeIncompleteFanOuts() {
+        notificationFanOutRepository.findByNotificationTypeAndCompletedOrderById(NotificationType.STUDY_CREATED, false)
+                .forEach(fanOut -> {
+                    log.info("resume study created fan-out of study {} after account {}", fanOut.getSourceId(), fanOut.getLastAccountId());
+                    fanOutExecutor.execute(() -> run(fanOut.getId()));
+                });
+    }
+
+    private void run(Long fanOutId) {
+        boolean completed = false;
+        while (!completed) {
+            completed = Boolean.TRUE.equals(transactionTemplate.execute(status -> sendChunk(fanOutId)));
+        }
+    }
+
+    private boolean sendChunk(Long fanOutId) {
+        NotificationFanOut fanOut = notificationFanOutRepository.findById(fanOutId).orElseThrow();
+        if (fanOut.isCompleted()) {
+            return true;
+        }
+
+        Study study = studyRepository.findStudyWithTagsAndZonesById(fanOut.getSourceId());
+        if (study == null) {
+            fanOut.checkpoint(fanOut.getLastAccountId(), true);
+            return true;
+        }
+
+        List<Account> accounts = accountRepository.findByTagsAndZonesAfter(study.getTags(), study.getZones(),
+                fanOut.getLastAccountId(), CHUNK_SIZE);
+        List<Notification> notifications = new ArrayList<>();
+        List<EmailMessage> emailMessages = new ArrayList<>();
+        List<DigestItem> digestItems = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        MailTemplate mailTemplate = mailTemplates.simpleLink("/study/" + study.getEncodedPath(), study.getTitle(),
+                "새로운 스터디가 생겼습니다.");
+        accounts.forEach(account -> {
+            if (account.isStudyCreatedByEmail() && account.isEmailDigest()) {
+                digestItems.add(DigestItem.of(account, study.getTitle(), "/study/" + study.getEncodedPath(),
+                        "새로운 스터디가 생겼습니다."));
+            } else if (account.isStudyCreatedByEmail()) {
+                emailMessages.add(EmailMessage.builder()
+                        .subject("스터디올래, '" + study.getTitle() + "' 스터디가 생겼습니다.")
+                        .to(account.getEmail())
+                        .message(mailTemplate.render(account.getNickname()))
+                        .build());
+            }
+
+            if (account.isStudyCreatedByWeb()) {
+                notifications.add(createNotification(study, account, now));
+            }
+        });
+        notificationWriter.writeAll(notifications);
+        digestItemRepository.saveAll(digestItems);
+
+        boolean completed = accounts.size() < CHUNK_SIZE;
+        Long lastAccountId = accounts.isEmpty() ? fanOut.getLastAccountId() : accounts.get(accounts.size() - 1).getId();
+        fanOut.checkpoint(lastAccountId, completed);
+
+        //메일은 발송 대기열에 넣기만 하므로 청크와 함께 커밋된다.
+        emailMessages.forEach(emailService::sendEmail);
+        return completed;
+    }
+
+    private Notification createNotification(Study study, Account account, LocalDateTime now) {
+        Notification notification = new Notification();
+        notification.setTitle(study.getTitle());
+        notification.setLink("/study/" + study.getEncodedPath());
+        notification.setChecked(false);
+        notification.setCreatedDateTime(now);
+        notification.setMessage(study.getShortDescription());
+        notification.setAccount(account);
+        notification.setNotificationType(NotificationType.STUDY_CREATED);
+        return notification;
+    }
+
+}
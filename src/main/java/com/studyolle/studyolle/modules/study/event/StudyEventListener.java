@@ -1,77 +1,113 @@
 package com.studyolle.studyolle.modules.study.event;
 
-import com.studyolle.studyolle.infra.config.AppProperties;
 import com.studyolle.studyolle.infra.mail.EmailMessage;
 import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.infra.mail.MailTemplate;
+import com.studyolle.studyolle.infra.mail.MailTemplates;
+import com.studyolle.studyolle.infra.outbox.OutboxEvent;
+import com.studyolle.studyolle.infra.outbox.OutboxEventHandler;
 import com.studyolle.studyolle.modules.account.Account;
-import com.studyolle.studyolle.modules.account.AccountPredicates;
-import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.notification.DigestItem;
+import com.studyolle.studyolle.modules.notification.DigestItemRepository;
 import com.studyolle.studyolle.modules.notification.Notification;
-import com.studyolle.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.studyolle.modules.notification.NotificationWriter;
 import com.studyolle.studyolle.modules.notification.NotificationType;
 import com.studyolle.studyolle.modules.study.Study;
 import com.studyolle.studyolle.modules.study.StudyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
-@Async
 @Component
 @Transactional
 @RequiredArgsConstructor
-public class StudyEventListener {
+public class StudyEventListener implements OutboxEventHandler {
+
+    private static final String STUDY_CREATED = StudyCreatedEvent.class.getSimpleName();
+    private static final String STUDY_UPDATED = StudyUpdateEvent.class.getSimpleName();
+    private static final int MAX_MESSAGE_LENGTH = 255;
 
     private final StudyRepository studyRepository;
-    private final AccountRepository accountRepository;
+    private final StudyCreatedFanOut studyCreatedFanOut;
     private final EmailService emailService;
-    private final TemplateEngine templateEngine;
-    private final AppProperties appProperties;
-    private final NotificationRepository notificationRepository;
-
-    @EventListener
-    public void handleStudyCreatedEvent(StudyCreatedEvent studyCreatedEvent){
-        Study study = studyRepository.findStudyWithTagsAndZonesById(studyCreatedEvent.getStudy().getId());
-        Iterable<Account> accounts = accountRepository.findAll(AccountPredicates.findByTagsAndZones(study.getTags(), study.getZones()));
-        accounts.forEach(account -> {
-            if (account.isStudyCreatedByEmail()){
-                sendStudyCreatedEmail(study, account, "새로운 스터디가 생겼습니다.", "스터디올래, '" + study.getTitle() + "' 스터디가 생겼습니다.");
-            }
+    private final MailTemplates mailTemplates;
+    private final NotificationWriter notificationWriter;
+    private final DigestItemRepository digestItemRepository;
+    private final MeterRegistry meterRegistry;
 
-            if (account.isStudyCreatedByWeb()){
-                createNotification(study, account, study.getShortDescription(), NotificationType.STUDY_CREATED);
-            }
-        });
+    @Override
+    public boolean supports(String eventType) {
+        return STUDY_CREATED.equals(eventType) || STUDY_UPDATED.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent outboxEvent) {
+        if (STUDY_CREATED.equals(outboxEvent.getEventType())) {
+            handleStudyCreatedEvent(outboxEvent.getAggregateId());
+        } else {
+            handleStudyUpdateEvent(outboxEvent.getAggregateId(), outboxEvent.getMessage());
+        }
     }
 
-    @EventListener
-    public void handleStudyUpdateEvent(StudyUpdateEvent studyUpdateEvent){
-        Study study = studyRepository.findStudyWithManagersAndMembersById(studyUpdateEvent.getStudy().getId());
+    //짧은 시간에 몰린 같은 스터디의 소식은 메세지를 합쳐서 받는 사람마다 알림 하나만 만든다.
+    @Override
+    public void handleCoalesced(List<OutboxEvent> outboxEvents) {
+        List<String> messages = outboxEvents.stream()
+                .map(OutboxEvent::getMessage)
+                .distinct()
+                .collect(Collectors.toList());
+        int recipients = handleStudyUpdateEvent(outboxEvents.get(0).getAggregateId(), mergeMessages(messages));
+        meterRegistry.counter("study.update.suppressed").increment((double) (outboxEvents.size() - 1) * recipients);
+    }
+
+    private String mergeMessages(List<String> messages) {
+        String merged = String.join(" / ", messages);
+        return merged.length() > MAX_MESSAGE_LENGTH ? merged.substring(0, MAX_MESSAGE_LENGTH - 1) + "…" : merged;
+    }
+
+    private void handleStudyCreatedEvent(Long studyId){
+        studyCreatedFanOut.start(studyId);
+    }
+
+    private int handleStudyUpdateEvent(Long studyId, String message){
+        Study study = studyRepository.findStudyWithManagersAndMembersById(studyId);
+        if (study == null) {
+            return 0;
+        }
         Set<Account> accounts = new HashSet<>();
         accounts.addAll(study.getManagers());
         accounts.addAll(study.getMembers());
 
+        List<Notification> notifications = new ArrayList<>();
+        List<DigestItem> digestItems = new ArrayList<>();
+        MailTemplate mailTemplate = mailTemplates.simpleLink("/study/" + study.getEncodedPath(), study.getTitle(), message);
         accounts.forEach(account -> {
-            if (account.isStudyUpdatedByEmail()){
-                sendStudyCreatedEmail(study, account, studyUpdateEvent.getMessage(), "스터디올래, '" + study.getTitle() + "' 스터디에 새소식이 있습니다.");
+            if (account.isStudyUpdatedByEmail() && account.isEmailDigest()){
+                digestItems.add(DigestItem.of(account, study.getTitle(), "/study/" + study.getEncodedPath(), message));
+            } else if (account.isStudyUpdatedByEmail()){
+                sendStudyUpdatedEmail(study, account, mailTemplate);
             }
 
             if (account.isStudyUpdatedByWeb()){
-                createNotification(study, account, studyUpdateEvent.getMessage(), NotificationType.STUDY_UPDATED);
+                notifications.add(createNotification(study, account, message, NotificationType.STUDY_UPDATED));
             }
         });
+        notificationWriter.writeAll(notifications);
+        digestItemRepository.saveAll(digestItems);
+        return accounts.size();
     }
 
-    private void createNotification(Study study, Account account, String message, NotificationType notificationType) {
+    private Notification createNotification(Study study, Account account, String message, NotificationType notificationType) {
         Notification notification = new Notification();
         notification.setTitle(study.getTitle());
         notification.setLink("/study/" + study.getEncodedPath());
@@ -80,22 +116,14 @@ public class StudyEventListener {
         notification.setMessage(message);
         notification.setAccount(account);
         notification.setNotificationType(notificationType);
-        notificationRepository.save(notification);
+        return notification;
     }
 
-    private void sendStudyCreatedEmail(Study study, Account account, String contextMessage, String emailSubject) {
-        Context context = new Context();
-        context.setVariable("nickname", account.getNickname());
-        context.setVariable("link", "/study/" + study.getEncodedPath());
-        context.setVariable("linkName", study.getTitle());
-        context.setVariable("message", contextMessage);
-        context.setVariable("host", appProperties.getHost());
-
-        String message = templateEngine.process("mail/simple-link", context);
+    private void sendStudyUpdatedEmail(Study study, Account account, MailTemplate mailTemplate) {
         EmailMessage emailMessage = EmailMessage.builder()
-                .subject(emailSubject)
+                .subject("스터디올래, '" + study.getTitle() + "' 스터디에 새소식이 있습니다.")
                 .to(account.getEmail())
-                .message(message)
+                .message(mailTemplate.render(account.getNickname()))
                 .build();
 
         emailService.sendEmail(emailMessage);
@@ -1,15 +1,25 @@
 package com.studyolle.studyolle.modules.study.event;
 
+import com.studyolle.studyolle.infra.outbox.OutboxPublishable;
 import com.studyolle.studyolle.modules.study.Study;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
 @Getter
 @RequiredArgsConstructor
-public class StudyUpdateEvent {
+public class StudyUpdateEvent implements OutboxPublishable {
 
     private final Study study;
 
     private final String message;
 
+    @Override
+    public Long getAggregateId() {
+        return study.getId();
+    }
+
+    @Override
+    public String getCoalesceKey() {
+        return getEventType() + ":" + study.getId();
+    }
 }
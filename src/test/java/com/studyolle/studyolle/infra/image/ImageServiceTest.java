@@ -0,0 +1,110 @@
+package com.studyolle.studyolle.infra.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImageServiceTest {
+
+    @TempDir
+    Path directory;
+
+    FileSystemImageStore imageStore;
+
+    ImageService imageService;
+
+    @BeforeEach
+    void beforeEach() {
+        ImageProperties imageProperties = new ImageProperties();
+        imageProperties.setDirectory(directory.toString());
+        imageStore = new FileSystemImageStore(imageProperties);
+        imageService = new ImageService(imageStore, new ImageVariantGenerator(imageStore, Runnable::run));
+    }
+
+    @DisplayName("같은 data URL은 같은 키 하나로 저장된다")
+    @Test
+    void saveDataUrl() throws Exception {
+        byte[] image = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3};
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(image);
+
+        String key = imageService.saveDataUrl(dataUrl);
+
+        assertThat(key).matches("[0-9a-f]{64}\\.png");
+        assertThat(imageService.saveDataUrl(dataUrl)).isEqualTo(key);
+        assertThat(imageService.toKey(ImageService.url(key))).isEqualTo(key);
+        assertThat(imageStore.size(key)).isEqualTo(image.length);
+        try (ReadableByteChannel channel = imageStore.open(key)) {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            channel.read(buffer);
+            assertThat(buffer.flip().remaining()).isEqualTo(image.length);
+        }
+        assertThatThrownBy(() -> imageService.saveDataUrl("data:image/svg+xml;base64,PHN2Zy8+"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> imageService.toKey("/images/stored/../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("업로드한 이미지는 파일 내용으로 형식을 판단하고 축소본을 만든다")
+    @Test
+    void saveMultipartFile() throws Exception {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(800, 400, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        String key = imageService.save(new MockMultipartFile("image", "banner.jpg", "image/jpeg", png.toByteArray()));
+
+        assertThat(key).endsWith(".png");
+        assertThat(imageStore.size(ImageVariant.LARGE.keyOf(key))).isEqualTo(png.size());
+        try (InputStream thumbnail = Channels.newInputStream(imageStore.open(ImageVariant.THUMBNAIL.keyOf(key)))) {
+            assertThat(ImageIO.read(thumbnail).getWidth()).isEqualTo(ImageVariant.THUMBNAIL.getMaxWidth());
+        }
+        assertThat(imageService.toKey(ImageService.url(key, ImageVariant.THUMBNAIL))).isEqualTo(key);
+        assertThatThrownBy(() -> imageService.save(new MockMultipartFile("image", "a.png", "image/png", "<svg/>".getBytes())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DisplayName("축소본 생성이 거절되면 다음 요청에서 다시 만든다")
+    @Test
+    void regenerateAfterRejection() throws Exception {
+        ImageVariantGenerator rejecting = new ImageVariantGenerator(imageStore, command -> {
+            throw new RejectedExecutionException();
+        });
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB), "png", png);
+
+        String key = new ImageService(imageStore, rejecting)
+                .save(new MockMultipartFile("image", "banner.png", "image/png", png.toByteArray()));
+        assertThat(imageStore.exists(ImageVariant.THUMBNAIL.keyOf(key))).isFalse();
+
+        new ImageVariantGenerator(imageStore, Runnable::run).generateLater(key);
+        assertThat(imageStore.exists(ImageVariant.THUMBNAIL.keyOf(key))).isTrue();
+        assertThat(imageStore.exists(ImageVariant.LARGE.keyOf(key))).isTrue();
+    }
+
+    @DisplayName("축소본을 만들지 않는 형식은 원본 URL을 그대로 쓴다")
+    @Test
+    void urlWithoutVariants() {
+        String key = imageService.saveDataUrl("data:image/gif;base64," +
+                Base64.getEncoder().encodeToString(new byte[]{'G', 'I', 'F', '8', '9', 'a', 1, 2}));
+
+        assertThat(key).endsWith(".gif");
+        assertThat(ImageService.url(key, ImageVariant.THUMBNAIL)).isEqualTo(ImageService.url(key));
+        assertThat(imageStore.exists(ImageVariant.THUMBNAIL.keyOf(key))).isFalse();
+    }
+}
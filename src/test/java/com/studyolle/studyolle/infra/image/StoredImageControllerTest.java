@@ -0,0 +1,72 @@
+package com.studyolle.studyolle.infra.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoredImageControllerTest {
+
+    @TempDir
+    Path directory;
+
+    FileSystemImageStore imageStore;
+
+    AtomicInteger generations = new AtomicInteger();
+
+    StoredImageController storedImageController;
+
+    String key;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        ImageProperties imageProperties = new ImageProperties();
+        imageProperties.setDirectory(directory.toString());
+        imageStore = new FileSystemImageStore(imageProperties);
+        //만들라는 요청만 세고 실제로 만들지는 않는다.
+        storedImageController = new StoredImageController(imageStore,
+                new ImageVariantGenerator(imageStore, command -> generations.incrementAndGet()));
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB), "png", png);
+        key = imageStore.save(new ByteArrayInputStream(png.toByteArray()), "png");
+    }
+
+    @DisplayName("아직 없는 축소본은 원본을 캐시하지 않게 내려주고 다시 만들게 한다")
+    @Test
+    void missingVariant() throws Exception {
+        MockHttpServletResponse response = get(ImageVariant.THUMBNAIL.keyOf(key));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache");
+        assertThat(response.getContentLengthLong()).isEqualTo(imageStore.size(key));
+        assertThat(generations).hasValue(1);
+    }
+
+    @DisplayName("축소본 이름이 아닌 접미사는 원본으로 대신하지 않고 404를 돌려준다")
+    @Test
+    void unknownSuffix() throws Exception {
+        MockHttpServletResponse response = get(key.replace(".png", "-x.png"));
+
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(generations).hasValue(0);
+    }
+
+    private MockHttpServletResponse get(String key) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        storedImageController.image(key, new MockHttpServletRequest("GET", ImageService.URL_PREFIX + key), response);
+        return response;
+    }
+}
@@ -0,0 +1,19 @@
+package com.studyolle.studyolle.infra.mail;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailTemplateTest {
+
+    @DisplayName("닉네임 자리에 이스케이프한 닉네임을 끼워 넣는다")
+    @Test
+    void render() {
+        MailTemplate mailTemplate = new MailTemplate("<p>" + MailTemplate.NICKNAME_PLACEHOLDER + "님</p><small>"
+                + MailTemplate.NICKNAME_PLACEHOLDER + "</small>");
+
+        assertThat(mailTemplate.render("keesun")).isEqualTo("<p>keesun님</p><small>keesun</small>");
+        assertThat(mailTemplate.render("<b>&")).isEqualTo("<p>&lt;b&gt;&amp;님</p><small>&lt;b&gt;&amp;</small>");
+    }
+}
@@ -0,0 +1,89 @@
+package com.studyolle.studyolle.infra.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//GreenMail을 로컬 SMTP 서버로 띄워서 메일마다 연결하는 방식과 연결 하나로 묶어 보내는 방식의 초당 발송 수만 비교한다.
+//엔진의 가져가기, 재시도, DEAD 처리는 SmtpDeliveryEngineTest에서 확인한다.
+@Slf4j
+@Tag("benchmark")
+class SmtpBatchSendBenchmarkTest {
+
+    static final int MESSAGES = 500;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    JavaMailSenderImpl javaMailSender;
+
+    @BeforeEach
+    void beforeEach() {
+        javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @DisplayName("기존 방식 - 메일마다 SMTP 연결")
+    @Test
+    void sendOneByOne() throws MessagingException {
+        List<MimeMessage> messages = createMessages();
+        long started = System.nanoTime();
+        messages.forEach(javaMailSender::send);
+        report("one by one", started);
+    }
+
+    @DisplayName("묶음 방식 - 연결마다 50통씩, 2개 연결 동시 발송")
+    @Test
+    void sendInBatches() throws MessagingException {
+        List<MimeMessage> messages = createMessages();
+        long started = System.nanoTime();
+        List<CompletableFuture<Void>> connections = new ArrayList<>();
+        for (int from = 0; from < MESSAGES; from += SmtpDeliveryEngine.MESSAGES_PER_CONNECTION) {
+            List<MimeMessage> part = messages.subList(from, Math.min(from + SmtpDeliveryEngine.MESSAGES_PER_CONNECTION, MESSAGES));
+            connections.add(CompletableFuture.runAsync(() -> javaMailSender.send(part.toArray(MimeMessage[]::new))));
+            if (connections.size() == 2) {
+                connections.forEach(CompletableFuture::join);
+                connections.clear();
+            }
+        }
+        connections.forEach(CompletableFuture::join);
+        report("batched", started);
+    }
+
+    private List<MimeMessage> createMessages() throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < MESSAGES; i++) {
+            MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, "UTF-8");
+            helper.setFrom("studyolle@email.com");
+            helper.setTo("user" + i + "@email.com");
+            helper.setSubject("스터디올래, 새 스터디가 생겼습니다.");
+            helper.setText("<p>bench " + i + "</p>", true);
+            messages.add(mimeMessage);
+        }
+        return messages;
+    }
+
+    private void report(String name, long started) {
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("{}: {} emails in {} s, {} emails/sec", name, MESSAGES,
+                String.format("%.2f", seconds), String.format("%.0f", MESSAGES / seconds));
+        assertEquals(MESSAGES, greenMail.getReceivedMessages().length);
+    }
+}
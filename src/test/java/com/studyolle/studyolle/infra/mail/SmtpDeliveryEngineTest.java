@@ -0,0 +1,126 @@
+package com.studyolle.studyolle.infra.mail;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//대기 테이블에 메일을 넣고 엔진이 GreenMail로 보내는 결과와 실패했을 때 남는 상태를 확인한다.
+@ActiveProfiles("test")
+@SpringBootTest
+class SmtpDeliveryEngineTest extends AbstractContainerBaseTest {
+
+    //전송을 호출한 스레드에서 끝내서 deliver()가 돌아오면 결과를 바로 확인할 수 있게 한다.
+    static final Executor DIRECT = Runnable::run;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired PendingEmailRepository pendingEmailRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void afterEach() {
+        pendingEmailRepository.deleteAll();
+    }
+
+    @DisplayName("대기 중인 메일을 모두 보내고 대기 테이블에서 지운다")
+    @Test
+    void deliver() {
+        savePendingEmails(SmtpDeliveryEngine.BATCH_SIZE + 10);
+
+        engine(ServerSetupTest.SMTP.getPort()).deliver();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(SmtpDeliveryEngine.BATCH_SIZE + 10);
+        assertThat(pendingEmailRepository.count()).isZero();
+    }
+
+    @DisplayName("두 서버가 동시에 보내도 잠긴 메일은 건너뛰어서 한 통씩만 나간다")
+    @Test
+    void deliverConcurrently() {
+        int count = SmtpDeliveryEngine.BATCH_SIZE * 3;
+        savePendingEmails(count);
+
+        List<CompletableFuture<Void>> servers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            SmtpDeliveryEngine engine = engine(ServerSetupTest.SMTP.getPort());
+            servers.add(CompletableFuture.runAsync(engine::deliver));
+        }
+        servers.forEach(CompletableFuture::join);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(count);
+        assertThat(pendingEmailRepository.count()).isZero();
+    }
+
+    @DisplayName("보내지 못한 메일은 시도 횟수를 늘리고 다음 시도 시각을 뒤로 미룬다")
+    @Test
+    void retryLater() {
+        savePendingEmails(1);
+        LocalDateTime before = LocalDateTime.now();
+
+        engine(unusedPort()).deliver();
+
+        PendingEmail pendingEmail = pendingEmailRepository.findAll().get(0);
+        assertThat(pendingEmail.getStatus()).isEqualTo(PendingEmail.Status.PENDING);
+        assertThat(pendingEmail.getAttempts()).isEqualTo(1);
+        assertThat(pendingEmail.getNextAttemptAt()).isAfterOrEqualTo(before.plus(SmtpDeliveryEngine.BASE_DELAY));
+        assertThat(pendingEmail.getLastError()).isNotBlank();
+    }
+
+    @DisplayName("시도 횟수를 다 쓰면 DEAD로 남기고 더 가져가지 않는다")
+    @Test
+    void deadLetter() {
+        PendingEmail pendingEmail = savePendingEmails(1).get(0);
+        pendingEmail.setAttempts(SmtpDeliveryEngine.MAX_ATTEMPTS - 1);
+        pendingEmailRepository.save(pendingEmail);
+
+        engine(unusedPort()).deliver();
+
+        PendingEmail dead = pendingEmailRepository.findById(pendingEmail.getId()).orElseThrow();
+        assertThat(dead.getStatus()).isEqualTo(PendingEmail.Status.DEAD);
+        assertThat(dead.getAttempts()).isEqualTo(SmtpDeliveryEngine.MAX_ATTEMPTS);
+        assertThat(pendingEmailRepository.findDueForUpdate(LocalDateTime.now().plusYears(1), 10)).isEmpty();
+    }
+
+    private SmtpDeliveryEngine engine(int port) {
+        JavaMailSenderImpl javaMailSender = new JavaMailSenderImpl();
+        javaMailSender.setHost("localhost");
+        javaMailSender.setPort(port);
+        return new SmtpDeliveryEngine(pendingEmailRepository, javaMailSender, DIRECT, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    //GreenMail 포트 바로 옆은 비어 있어서 연결이 거절된다.
+    private int unusedPort() {
+        return ServerSetupTest.SMTP.getPort() + 1;
+    }
+
+    private List<PendingEmail> savePendingEmails(int count) {
+        List<PendingEmail> pendingEmails = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pendingEmails.add(PendingEmail.from(EmailMessage.builder()
+                    .to("user" + i + "@email.com")
+                    .subject("스터디올래, 새 스터디가 생겼습니다.")
+                    .message("<p>" + i + "</p>")
+                    .build()));
+        }
+        return pendingEmailRepository.saveAll(pendingEmails);
+    }
+}
@@ -0,0 +1,170 @@
+package com.studyolle.studyolle.infra.outbox;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//스케줄러를 끄고 relay()를 직접 호출해서, 주기 실행과 섞이지 않게 결과를 확인한다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.scheduling.enabled=false")
+class OutboxRelayTest extends AbstractContainerBaseTest {
+
+    static final String EVENT_TYPE = "TestEvent";
+
+    @Autowired OutboxEventRepository outboxEventRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired OutboxEventRecorder outboxEventRecorder;
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    OutboxProperties outboxProperties = new OutboxProperties();
+    RecordingHandler handler = new RecordingHandler();
+
+    @AfterEach
+    void afterEach() {
+        outboxEventRepository.deleteAll();
+    }
+
+    @DisplayName("시도 횟수를 다 쓴 이벤트는 dead로 남기고 대기 건수와 지연 지표에서 뺀다")
+    @Test
+    void deadLetter() {
+        handler.failing = true;
+        save(new TestEvent(1L, null), LocalDateTime.now());
+        OutboxRelay relay = relay();
+
+        for (int i = 0; i < OutboxRelay.MAX_ATTEMPTS + 2; i++) {
+            relay.relay();
+        }
+
+        OutboxEvent outboxEvent = outboxEventRepository.findAll().get(0);
+        assertThat(outboxEvent.isDead()).isTrue();
+        assertThat(outboxEvent.getAttempts()).isEqualTo(OutboxRelay.MAX_ATTEMPTS);
+        assertThat(outboxEvent.getPublishedDateTime()).isNull();
+        assertThat(gauge("outbox.pending")).isZero();
+        assertThat(gauge("outbox.lag.seconds")).isZero();
+        assertThat(gauge("outbox.dead")).isEqualTo(1);
+    }
+
+    @DisplayName("같은 키로 기다리는 동안 들어온 이벤트는 창이 지나면 한 번에 묶어서 보낸다")
+    @Test
+    void coalesceWithinWindow() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (long i = 1; i <= 3; i++) {
+            TestEvent event = new TestEvent(i, "study:1");
+            transactionTemplate.executeWithoutResult(status -> outboxEventRecorder.record(event));
+        }
+        OutboxRelay relay = relay();
+
+        relay.relay();
+        assertThat(handler.handled).isEmpty();
+
+        //창이 지난 것처럼 대기 시각을 앞으로 당긴다.
+        outboxEventRepository.postponeCoalesced("study:1", LocalDateTime.now().minusSeconds(1));
+        relay.relay();
+
+        assertThat(handler.handled).containsExactly(List.of(1L, 2L, 3L));
+        assertThat(outboxEventRepository.findAll()).allMatch(outboxEvent -> outboxEvent.getPublishedDateTime() != null);
+        assertThat(meterRegistry.counter("outbox.coalesced").count()).isEqualTo(2);
+    }
+
+    @DisplayName("이벤트가 계속 와서 창이 계속 밀려도 maxCoalesceDelay가 지나면 보낸다")
+    @Test
+    void flushAfterMaxCoalesceDelay() {
+        LocalDateTime later = LocalDateTime.now().plus(outboxProperties.getCoalesceWindow());
+        OutboxEvent oldest = OutboxEvent.from(new TestEvent(1L, "study:1"), later);
+        oldest.setCreatedDateTime(LocalDateTime.now().minus(outboxProperties.getMaxCoalesceDelay()).minusSeconds(1));
+        outboxEventRepository.save(oldest);
+        save(new TestEvent(2L, "study:1"), later);
+
+        relay().relay();
+
+        assertThat(handler.handled).containsExactly(List.of(1L, 2L));
+    }
+
+    @DisplayName("시도 횟수를 다 쓴 이벤트는 같은 키로 나중에 온 이벤트에 섞이지 않는다")
+    @Test
+    void skipDeadWhenCoalescing() {
+        OutboxEvent dead = OutboxEvent.from(new TestEvent(1L, "study:1"), LocalDateTime.now().minusSeconds(1));
+        dead.setAttempts(OutboxRelay.MAX_ATTEMPTS);
+        dead.setDead(true);
+        outboxEventRepository.save(dead);
+        save(new TestEvent(2L, "study:1"), LocalDateTime.now().minusSeconds(1));
+
+        relay().relay();
+
+        assertThat(handler.handled).containsExactly(List.of(2L));
+        assertThat(outboxEventRepository.findById(dead.getId()).orElseThrow().getPublishedDateTime()).isNull();
+    }
+
+    private OutboxRelay relay() {
+        return new OutboxRelay(outboxEventRepository, outboxProperties, List.of(handler), transactionManager, meterRegistry);
+    }
+
+    private OutboxEvent save(TestEvent event, LocalDateTime dispatchAfter) {
+        return outboxEventRepository.save(OutboxEvent.from(event, dispatchAfter));
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class TestEvent implements OutboxPublishable {
+
+        private final Long aggregateId;
+
+        private final String coalesceKey;
+
+        @Override
+        public String getEventType() {
+            return EVENT_TYPE;
+        }
+
+        @Override
+        public String getMessage() {
+            return "message " + aggregateId;
+        }
+    }
+
+    static class RecordingHandler implements OutboxEventHandler {
+
+        boolean failing;
+
+        final List<List<Long>> handled = new ArrayList<>();
+
+        @Override
+        public boolean supports(String eventType) {
+            return EVENT_TYPE.equals(eventType);
+        }
+
+        @Override
+        public void handle(OutboxEvent outboxEvent) {
+            handleCoalesced(List.of(outboxEvent));
+        }
+
+        @Override
+        public void handleCoalesced(List<OutboxEvent> outboxEvents) {
+            if (failing) {
+                throw new IllegalStateException("handler failed");
+            }
+            List<Long> aggregateIds = new ArrayList<>();
+            outboxEvents.forEach(outboxEvent -> aggregateIds.add(outboxEvent.getAggregateId()));
+            handled.add(aggregateIds);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.studyolle.studyolle.infra.timer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    static final long START = 1_000_000L;
+
+    HashedTimingWheel<String> wheel = new HashedTimingWheel<>(Duration.ofSeconds(1), 8, START);
+
+    @DisplayName("마감 시각이 되기 전에는 꺼내지 않는다")
+    @Test
+    void expiresAtDeadline() {
+        wheel.schedule("a", START + 2_500);
+
+        assertThat(wheel.advance(START + 2_000)).isEmpty();
+        assertThat(wheel.advance(START + 2_999)).isEmpty();
+        assertThat(wheel.advance(START + 3_000)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @DisplayName("한 바퀴보다 먼 마감은 바퀴가 돌아올 때까지 버킷에 남는다")
+    @Test
+    void keepsDeadlinesBeyondOneRound() {
+        wheel.schedule("near", START + 3_000);
+        wheel.schedule("far", START + 11_000);
+
+        List<String> expired = new ArrayList<>();
+        for (long now = START; now <= START + 10_000; now += 1_000) {
+            expired.addAll(wheel.advance(now));
+        }
+        assertThat(expired).containsExactly("near");
+        assertThat(wheel.advance(START + 11_000)).containsExactly("far");
+    }
+
+    @DisplayName("지난 마감이나 오래 멈춰 있던 사이의 마감은 다음 advance에서 한꺼번에 꺼낸다")
+    @Test
+    void catchesUpAfterPause() {
+        wheel.advance(START + 5_000);
+        wheel.schedule("past", START);
+        wheel.schedule("later", START + 20_000);
+        wheel.schedule("muchLater", START + 40_000);
+
+        assertThat(wheel.advance(START + 6_000)).containsExactly("past");
+        assertThat(wheel.advance(START + 60_000)).containsExactlyInAnyOrder("later", "muchLater");
+        assertThat(wheel.size()).isZero();
+    }
+}
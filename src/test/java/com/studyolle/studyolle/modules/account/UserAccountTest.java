@@ -0,0 +1,28 @@
+package com.studyolle.studyolle.modules.account;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserAccountTest {
+
+    @DisplayName("세션에 담는 로그인 정보는 엔티티 없이 작게 직렬화된다")
+    @Test
+    void serialize() throws Exception {
+        Account account = Account.builder()
+                .id(1L).nickname("keesun").email("keesun@email.com").password("{bcrypt}12345678")
+                .emailVerified(true).studyCreatedByWeb(true).profileImageKey("a".repeat(64) + ".png")
+                .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new UserAccount(account));
+        }
+
+        assertThat(bytes.size()).isLessThan(2048);
+    }
+}
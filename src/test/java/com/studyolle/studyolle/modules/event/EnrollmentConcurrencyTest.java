@@ -0,0 +1,153 @@
+package com.studyolle.studyolle.modules.event;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.study.Study;
+import com.studyolle.studyolle.modules.study.StudyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@ActiveProfiles("test")
+@SpringBootTest
+class EnrollmentConcurrencyTest extends AbstractContainerBaseTest {
+
+    static final int THREADS = 200;
+    static final int ACCOUNTS = 1_000;
+    static final int LIMIT = 100;
+
+    @Autowired EventService eventService;
+    @Autowired EventRepository eventRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Study study;
+    Event event;
+    List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNickname("enroll" + i);
+            account.setEmail("enroll" + i + "@email.com");
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+
+        study = new Study();
+        study.setPath("enroll-study");
+        studyRepository.save(study);
+
+        event = new Event();
+        event.setStudy(study);
+        event.setTitle("enroll event");
+        event.setEventType(EventType.FCFS);
+        event.setLimitOfEnrollments(LIMIT);
+        event.setCreatedDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(2).plusHours(2));
+        eventRepository.save(event);
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("DELETE FROM enrollment");
+        eventRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("선착순 모임에 동시에 신청하고 취소해도 정원을 넘겨 확정하지 않는다")
+    @Test
+    void concurrentEnrollments() throws Exception {
+        long started = System.nanoTime();
+        runConcurrently(accounts, account -> eventService.newEnrollment(reload(), account));
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("{} enrollments in {} s, {} enrollments/sec", ACCOUNTS,
+                String.format("%.2f", seconds), String.format("%.0f", ACCOUNTS / seconds));
+
+        assertEquals(LIMIT, acceptedRows());
+        assertEquals(LIMIT, acceptedCount());
+        assertEquals(ACCOUNTS - LIMIT, waitingRows());
+        assertEquals(ACCOUNTS - LIMIT, waitingCount());
+
+        //확정된 사람 절반이 동시에 취소하면 그만큼 대기자가 신청 순서대로 확정된다.
+        List<Long> cancelled = jdbcTemplate.queryForList("SELECT account_id FROM enrollment WHERE accepted ORDER BY id LIMIT ?",
+                Long.class, LIMIT / 2);
+        List<Account> cancelling = new ArrayList<>();
+        accounts.stream().filter(account -> cancelled.contains(account.getId())).forEach(cancelling::add);
+        runConcurrently(cancelling, account -> eventService.cancelEnrollment(reload(), account));
+
+        assertEquals(LIMIT, acceptedRows());
+        assertEquals(LIMIT, acceptedCount());
+        assertEquals(ACCOUNTS - LIMIT - LIMIT / 2, waitingRows());
+        assertEquals(ACCOUNTS - LIMIT - LIMIT / 2, waitingCount());
+        assertEquals(0, (int) jdbcTemplate.queryForObject("SELECT count(*) FROM enrollment w WHERE NOT w.accepted AND EXISTS " +
+                "(SELECT 1 FROM enrollment a WHERE a.accepted AND (a.enrolled_at, a.id) > (w.enrolled_at, w.id))", Integer.class));
+    }
+
+    private Event reload() {
+        return eventRepository.findById(event.getId()).orElseThrow();
+    }
+
+    private void runConcurrently(List<Account> targets, Consumer<Account> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Account account : targets) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> action.accept(account));
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int acceptedRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM enrollment WHERE accepted", Integer.class);
+    }
+
+    private int waitingRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM enrollment WHERE NOT accepted", Integer.class);
+    }
+
+    private int acceptedCount() {
+        return jdbcTemplate.queryForObject("SELECT accepted_count FROM event WHERE id = ?", Integer.class, event.getId());
+    }
+
+    private int waitingCount() {
+        return jdbcTemplate.queryForObject("SELECT waiting_count FROM event WHERE id = ?", Integer.class, event.getId());
+    }
+}
@@ -15,10 +15,13 @@ import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -33,6 +36,8 @@ class EventControllerTest extends AbstractContainerBaseTest {
     @Autowired EnrollmentRepository enrollmentRepository;
     @Autowired AccountRepository accountRepository;
     @Autowired AccountService accountService;
+    @Autowired EventRepository eventRepository;
+    @Autowired EntityManager entityManager;
 
     @BeforeEach
     void beforeEach() {
@@ -168,6 +173,101 @@ class EventControllerTest extends AbstractContainerBaseTest {
         isNotAccepted(admin, event);
     }
 
+    @Test
+    @DisplayName("입구에서 QR 스캔으로 체크인 - 다시 스캔해도 같은 결과")
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void scanEnrollment_is_idempotent() throws Exception {
+        Account admin = accountRepository.findByNickname("admin");
+        Account may = accountFactory.createAccount("may");
+        Study study = studyFactory.createStudy("test-study", admin);
+        Event event = createEvent("test-event", EventType.FCFS, 2, study, admin);
+        eventService.newEnrollment(event, may);
+        enrollmentRepository.flush();
+        Enrollment enrollment = enrollmentRepository.findByEventAndAccount(event, may);
+
+        String scanUrl = "/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments/" + enrollment.getId() + "/scan";
+        mockMvc.perform(post(scanUrl).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("\"CHECKED_IN\""));
+        mockMvc.perform(post(scanUrl).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("\"ALREADY_CHECKED_IN\""));
+    }
+
+    @Test
+    @DisplayName("관리자 확인 모임에서 여러 명을 한 번에 수락 - 정원까지만 먼저 신청한 순서로 수락")
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void acceptEnrollments_stops_at_limit() throws Exception {
+        Account admin = accountRepository.findByNickname("admin");
+        Study study = studyFactory.createStudy("test-study", admin);
+        Event event = createEvent("test-event", EventType.CONFIRMATIVE, 2, study, admin);
+        Account may = accountFactory.createAccount("may");
+        Account june = accountFactory.createAccount("june");
+        Account july = accountFactory.createAccount("july");
+        Enrollment first = enroll(event, may);
+        Enrollment second = enroll(event, june);
+        Enrollment third = enroll(event, july);
+
+        mockMvc.perform(post("/study/" + study.getPath() + "/events/" + event.getId() + "/enrollments/accept")
+                .param("enrollmentIds", String.valueOf(third.getId()), String.valueOf(first.getId()), String.valueOf(second.getId()))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/study/" + study.getPath() + "/events/" + event.getId()));
+
+        entityManager.flush();
+        entityManager.clear();
+        isAccepted(may, event);
+        isAccepted(june, event);
+        isNotAccepted(july, event);
+        Event updated = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(2, updated.getAcceptedCount());
+        assertEquals(1, updated.getWaitingCount());
+    }
+
+    @Test
+    @DisplayName("관리자 확인 모임에서 여러 명을 한 번에 거절 - 거절된 신청은 대기로 돌아가고 빈 자리에 대기자를 수락할 수 있다")
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void rejectEnrollments_frees_spots_for_waiting() throws Exception {
+        Account admin = accountRepository.findByNickname("admin");
+        Study study = studyFactory.createStudy("test-study", admin);
+        Event event = createEvent("test-event", EventType.CONFIRMATIVE, 2, study, admin);
+        Account may = accountFactory.createAccount("may");
+        Account june = accountFactory.createAccount("june");
+        Account july = accountFactory.createAccount("july");
+        Enrollment first = enroll(event, may);
+        Enrollment second = enroll(event, june);
+        Enrollment third = enroll(event, july);
+        eventService.acceptEnrollments(event, List.of(first.getId(), second.getId(), third.getId()));
+
+        String eventUrl = "/study/" + study.getPath() + "/events/" + event.getId();
+        mockMvc.perform(post(eventUrl + "/enrollments/reject")
+                .param("enrollmentIds", String.valueOf(first.getId()), String.valueOf(second.getId()))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl(eventUrl));
+        mockMvc.perform(post(eventUrl + "/enrollments/accept")
+                .param("enrollmentIds", String.valueOf(third.getId()))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl(eventUrl));
+
+        entityManager.flush();
+        entityManager.clear();
+        isNotAccepted(may, event);
+        isNotAccepted(june, event);
+        isAccepted(july, event);
+        Event updated = eventRepository.findById(event.getId()).orElseThrow();
+        assertEquals(1, updated.getAcceptedCount());
+        assertEquals(2, updated.getWaitingCount());
+    }
+
+    //일괄 처리는 JDBC로 바로 바꾸므로 신청을 먼저 DB에 내려 둔다.
+    private Enrollment enroll(Event event, Account account) {
+        eventService.newEnrollment(event, account);
+        enrollmentRepository.flush();
+        return enrollmentRepository.findByEventAndAccount(event, account);
+    }
+
     private Event createEvent(String eventTitle, EventType eventType, int limit, Study study, Account account) {
         Event event = new Event();
         event.setEventType(eventType);
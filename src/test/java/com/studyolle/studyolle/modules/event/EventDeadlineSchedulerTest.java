@@ -0,0 +1,86 @@
+package com.studyolle.studyolle.modules.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventDeadlineSchedulerTest {
+
+    EventRepository eventRepository = mock(EventRepository.class);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    EventDeadlineScheduler scheduler = new EventDeadlineScheduler(eventRepository, new EventScheduleProperties(),
+            mock(NamedParameterJdbcTemplate.class), mock(ApplicationEventPublisher.class),
+            mock(PlatformTransactionManager.class), meterRegistry);
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("트랜잭션 안에서 만든 모임의 일정은 커밋된 뒤에 휠에 올린다")
+    @Test
+    void scheduleAfterCommit() {
+        scheduler.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        scheduler.schedule(soonEvent());
+        assertThat(pending()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(pending()).isEqualTo(2);
+    }
+
+    @DisplayName("롤백된 모임의 일정은 휠에 올리지 않는다")
+    @Test
+    void skipRolledBack() {
+        scheduler.load();
+        TransactionSynchronizationManager.initSynchronization();
+
+        scheduler.schedule(soonEvent());
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(pending()).isZero();
+    }
+
+    @DisplayName("읽는 중에 실패한 구간은 읽은 것으로 치지 않는다")
+    @Test
+    void keepRangeOnFailure() {
+        when(eventRepository.findStartsToRemind(any(), any(), any(), any())).thenThrow(new IllegalStateException());
+
+        assertThatThrownBy(scheduler::load).isInstanceOf(IllegalStateException.class);
+
+        //아직 한 번도 읽지 못했으므로 load가 다시 가져가도록 남겨 둔다.
+        scheduler.schedule(soonEvent());
+        assertThat(pending()).isZero();
+    }
+
+    private Event soonEvent() {
+        Event event = new Event();
+        event.setId(1L);
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusMinutes(30));
+        event.setStartDateTime(LocalDateTime.now().plusMinutes(90));
+        return event;
+    }
+
+    private double pending() {
+        return meterRegistry.get("event.schedule.pending").gauge().value();
+    }
+}
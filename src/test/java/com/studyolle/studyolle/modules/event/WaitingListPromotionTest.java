@@ -0,0 +1,114 @@
+package com.studyolle.studyolle.modules.event;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.event.form.EventForm;
+import com.studyolle.studyolle.modules.study.Study;
+import com.studyolle.studyolle.modules.study.StudyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//릴레이가 기록된 이벤트를 처리하지 않도록 스케줄러를 끈다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.scheduling.enabled=false")
+class WaitingListPromotionTest extends AbstractContainerBaseTest {
+
+    static final int ACCOUNTS = 10;
+    static final int LIMIT = 3;
+    static final int RAISED_LIMIT = 7;
+
+    @Autowired EventService eventService;
+    @Autowired EventRepository eventRepository;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired ModelMapper modelMapper;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Study study;
+    Event event;
+    List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNickname("promote" + i);
+            account.setEmail("promote" + i + "@email.com");
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+
+        study = new Study();
+        study.setPath("promote-study");
+        study.setTitle("promote study");
+        studyRepository.save(study);
+
+        event = new Event();
+        event.setStudy(study);
+        event.setTitle("promote event");
+        event.setEventType(EventType.FCFS);
+        event.setLimitOfEnrollments(LIMIT);
+        event.setCreatedDateTime(LocalDateTime.now());
+        event.setEndEnrollmentDateTime(LocalDateTime.now().plusDays(1));
+        event.setStartDateTime(LocalDateTime.now().plusDays(2));
+        event.setEndDateTime(LocalDateTime.now().plusDays(2).plusHours(2));
+        eventRepository.save(event);
+
+        //신청 순서가 분명하도록 한 명씩 따로 커밋한다.
+        accounts.forEach(account -> transactionTemplate.executeWithoutResult(status -> eventService.newEnrollment(reload(), account)));
+        jdbcTemplate.update("DELETE FROM outbox_event");
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("DELETE FROM outbox_event");
+        jdbcTemplate.update("DELETE FROM enrollment");
+        eventRepository.deleteAll();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("정원을 늘리면 늘어난 만큼 먼저 신청한 대기자를 확정하고 한 명마다 아웃박스 이벤트를 하나씩 남긴다")
+    @Test
+    void raiseLimitPromotesOldestWaiting() {
+        List<Long> expected = jdbcTemplate.queryForList("SELECT id FROM enrollment WHERE event_id = ? AND NOT accepted " +
+                "ORDER BY enrolled_at, id LIMIT ?", Long.class, event.getId(), RAISED_LIMIT - LIMIT);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Event loaded = reload();
+            EventForm eventForm = modelMapper.map(loaded, EventForm.class);
+            eventForm.setLimitOfEnrollments(RAISED_LIMIT);
+            eventService.updateEvent(loaded, eventForm);
+        });
+
+        List<Long> promoted = jdbcTemplate.queryForList("SELECT id FROM enrollment WHERE event_id = ? AND accepted " +
+                "ORDER BY enrolled_at, id OFFSET ?", Long.class, event.getId(), LIMIT);
+        assertThat(promoted).containsExactlyElementsOf(expected);
+        assertEquals(RAISED_LIMIT, (int) jdbcTemplate.queryForObject("SELECT accepted_count FROM event WHERE id = ?", Integer.class, event.getId()));
+        assertEquals(ACCOUNTS - RAISED_LIMIT, (int) jdbcTemplate.queryForObject("SELECT waiting_count FROM event WHERE id = ?", Integer.class, event.getId()));
+
+        List<Long> recorded = jdbcTemplate.queryForList("SELECT aggregate_id FROM outbox_event WHERE event_type = 'EnrollmentAcceptedEvent'", Long.class);
+        assertThat(recorded).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private Event reload() {
+        return eventRepository.findById(event.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,139 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.infra.mail.EmailMessage;
+import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.infra.outbox.OutboxEvent;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.study.Study;
+import com.studyolle.studyolle.modules.study.StudyRepository;
+import com.studyolle.studyolle.modules.study.StudyService;
+import com.studyolle.studyolle.modules.study.event.StudyEventListener;
+import com.studyolle.studyolle.modules.study.event.StudyUpdateEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//스케줄러를 끄고 sendDigests()를 직접 호출한다. 청크마다 트랜잭션을 나눠 쓰므로 테스트 트랜잭션으로 묶지 않는다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.scheduling.enabled=false")
+class NotificationDigestSenderTest extends AbstractContainerBaseTest {
+
+    @MockBean EmailService emailService;
+
+    @Autowired NotificationDigestSender notificationDigestSender;
+    @Autowired StudyEventListener studyEventListener;
+    @Autowired DigestItemRepository digestItemRepository;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    Account digest;
+    Account instant;
+    Study study;
+
+    @BeforeEach
+    void beforeEach() {
+        digest = createAccount("digest", true);
+        instant = createAccount("instant", false);
+
+        study = new Study();
+        study.setPath("digest-study");
+        study.setTitle("digest study");
+        studyService.createNewStudy(study, digest);
+        studyService.addMember(study, instant);
+
+        publishUpdate("첫 번째 소식");
+        publishUpdate("두 번째 소식");
+    }
+
+    @AfterEach
+    void afterEach() {
+        digestItemRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        jdbcTemplate.update("DELETE FROM study_members WHERE study_id = ?", study.getId());
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("요약 메일을 받는 계정은 쌓인 소식을 한 통으로 받는다")
+    @Test
+    void oneMailPerDigestAccount() {
+        clearInvocations(emailService);
+
+        notificationDigestSender.sendDigests();
+
+        ArgumentCaptor<EmailMessage> captor = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailService).sendEmail(captor.capture());
+        EmailMessage emailMessage = captor.getValue();
+        assertThat(emailMessage.getTo()).isEqualTo(digest.getEmail());
+        assertThat(emailMessage.getSubject()).contains("2건");
+        assertThat(emailMessage.getMessage()).contains("첫 번째 소식", "두 번째 소식");
+        assertThat(digestItemRepository.count()).isZero();
+    }
+
+    @DisplayName("메일을 보내다 실패하면 소식을 지우지 않고 다음 주기에 다시 보낸다")
+    @Test
+    void keepItemsUntilSent() {
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendEmail(any());
+
+        assertThatThrownBy(notificationDigestSender::sendDigests).isInstanceOf(IllegalStateException.class);
+        assertThat(digestItemRepository.count()).isEqualTo(2);
+
+        doNothing().when(emailService).sendEmail(any());
+        clearInvocations(emailService);
+        notificationDigestSender.sendDigests();
+
+        verify(emailService).sendEmail(any());
+        assertThat(digestItemRepository.count()).isZero();
+    }
+
+    @DisplayName("요약을 켜지 않은 계정은 소식이 올 때마다 바로 메일을 받는다")
+    @Test
+    void instantAccountGetsMailRightAway() {
+        ArgumentCaptor<EmailMessage> captor = ArgumentCaptor.forClass(EmailMessage.class);
+        verify(emailService, times(2)).sendEmail(captor.capture());
+        assertThat(captor.getAllValues()).extracting(EmailMessage::getTo).containsOnly(instant.getEmail());
+
+        List<Long> digestAccountIds = digestItemRepository.findAll().stream()
+                .map(digestItem -> digestItem.getAccount().getId())
+                .collect(Collectors.toList());
+        assertThat(digestAccountIds).containsOnly(digest.getId());
+    }
+
+    private Account createAccount(String nickname, boolean emailDigest) {
+        Account account = new Account();
+        account.setNickname(nickname);
+        account.setEmail(nickname + "@email.com");
+        account.setStudyUpdatedByEmail(true);
+        account.setEmailDigest(emailDigest);
+        return accountRepository.save(account);
+    }
+
+    private void publishUpdate(String message) {
+        studyEventListener.handle(OutboxEvent.from(new StudyUpdateEvent(study, message), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.studyolle.studyolle.modules.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotificationStreamTest {
+
+    static final Executor REJECTING = command -> {
+        throw new RejectedExecutionException();
+    };
+
+    static final Executor DIRECT = Runnable::run;
+
+    RecordingEmitter emitter = new RecordingEmitter();
+
+    NotificationStream stream = new NotificationStream(1L, emitter);
+
+    @DisplayName("풀이 전송을 거절해도 다음 offer 때 새로고침 이벤트부터 다시 보낸다")
+    @Test
+    void retriesAfterRejection() {
+        stream.offer(SseEmitter.event().name("notification").data("first"), REJECTING);
+        assertThat(emitter.sent).isEmpty();
+
+        stream.offer(SseEmitter.event().name("notification").data("second"), DIRECT);
+
+        assertThat(emitter.sent).hasSize(1);
+        assertThat(emitter.sent.get(0)).contains("event:overflow");
+        assertThat(stream.isClosed()).isFalse();
+
+        stream.offer(SseEmitter.event().name("notification").data("third"), DIRECT);
+        assertThat(emitter.sent).hasSize(2);
+        assertThat(emitter.sent.get(1)).contains("data:third");
+    }
+
+    @DisplayName("거절이 계속돼도 연결이 멈춘 채로 남지 않는다")
+    @Test
+    void keepsRetryingWhileRejected() {
+        stream.offer(SseEmitter.event().comment("heartbeat"), REJECTING);
+        stream.offer(SseEmitter.event().comment("heartbeat"), REJECTING);
+
+        stream.offer(SseEmitter.event().comment("heartbeat"), DIRECT);
+
+        assertThat(emitter.sent).hasSize(1);
+        assertThat(emitter.sent.get(0)).contains("event:overflow");
+    }
+
+    @DisplayName("풀이 heartbeat을 거절해도 새로고침 이벤트를 보내지 않는다")
+    @Test
+    void rejectedHeartbeatIsNotOverflow() {
+        stream.heartbeat(REJECTING);
+        stream.heartbeat(REJECTING);
+
+        stream.heartbeat(DIRECT);
+
+        assertThat(emitter.sent).hasSize(1);
+        assertThat(emitter.sent.get(0)).contains(":heartbeat").doesNotContain("overflow");
+    }
+
+    static class RecordingEmitter extends SseEmitter {
+
+        final List<String> sent = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
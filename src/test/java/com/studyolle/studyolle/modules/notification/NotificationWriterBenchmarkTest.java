@@ -0,0 +1,110 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//5만 명에게 알림을 보내는 상황을 가정해 초당 INSERT 수를 비교한다. ./gradlew benchmark 로 실행한다.
+@Slf4j
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class NotificationWriterBenchmarkTest extends AbstractContainerBaseTest {
+
+    static final int RECIPIENTS = 50_000;
+    static final int ACCOUNTS = 1_000;
+    static final int CHUNK_SIZE = 500;
+
+    @Autowired NotificationWriter notificationWriter;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired EntityManager entityManager;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNickname("bench" + i);
+            account.setEmail("bench" + i + "@email.com");
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+    }
+
+    //예전 리스너처럼 수신자마다 notificationRepository.save를 부르고, 한 건씩 INSERT가 나가도록 매번 flush 한다.
+    //트랜잭션은 writer와 같은 크기로 나눠서 영속성 컨텍스트 크기 차이가 결과에 섞이지 않게 한다.
+    @DisplayName("기존 방식 - 알림마다 save와 INSERT 한 건")
+    @Test
+    void saveOneByOne() {
+        long started = System.nanoTime();
+        for (int from = 0; from < RECIPIENTS; from += CHUNK_SIZE) {
+            int chunkFrom = from;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = chunkFrom; i < Math.min(chunkFrom + CHUNK_SIZE, RECIPIENTS); i++) {
+                    notificationRepository.save(newNotification(accounts.get(i % ACCOUNTS)));
+                    entityManager.flush();
+                }
+            });
+        }
+        report("one by one", started);
+    }
+
+    @DisplayName("NotificationWriter - 시퀀스 풀링과 JDBC 배치")
+    @Test
+    void insertWithWriter() {
+        long started = System.nanoTime();
+        for (int from = 0; from < RECIPIENTS; from += CHUNK_SIZE) {
+            List<Notification> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, RECIPIENTS); i++) {
+                chunk.add(newNotification(accounts.get(i % ACCOUNTS)));
+            }
+            notificationWriter.writeAll(chunk);
+        }
+        report("writer", started);
+    }
+
+    private Notification newNotification(Account account) {
+        Notification notification = new Notification();
+        notification.setTitle("bench");
+        notification.setLink("/study/bench");
+        notification.setMessage("bench");
+        notification.setChecked(false);
+        notification.setCreatedDateTime(LocalDateTime.now());
+        notification.setAccount(account);
+        notification.setNotificationType(NotificationType.STUDY_CREATED);
+        return notification;
+    }
+
+    private void report(String name, long started) {
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        log.info("{}: {} notifications in {} s, {} inserts/sec", name, RECIPIENTS,
+                String.format("%.2f", seconds), String.format("%.0f", RECIPIENTS / seconds));
+        assertEquals(RECIPIENTS, notificationRepository.count());
+    }
+}
@@ -0,0 +1,117 @@
+package com.studyolle.studyolle.modules.notification;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.studyolle.studyolle.modules.account.Account;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnreadNotificationCounterTest {
+
+    static final Long ACCOUNT_ID = 1L;
+
+    AtomicLong nanos = new AtomicLong();
+    Ticker ticker = nanos::get;
+
+    NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    UnreadNotificationCounter counter = new UnreadNotificationCounter(
+            new CaffeineUnreadNotificationCountStore(new SimpleMeterRegistry(), ticker), notificationRepository);
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("처음 조회할 때만 DB에서 세고, 이후 증감은 캐시된 값에 반영한다")
+    @Test
+    void countOnceThenApplyChanges() {
+        when(notificationRepository.countByAccountIdAndChecked(ACCOUNT_ID, false)).thenReturn(3L);
+
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(3);
+        counter.increment(List.of(unread(), unread()));
+        counter.decrement(List.of(unread()));
+
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(4);
+        verify(notificationRepository, times(1)).countByAccountIdAndChecked(ACCOUNT_ID, false);
+    }
+
+    @DisplayName("롤백된 트랜잭션의 알림은 개수에 더하지 않는다")
+    @Test
+    void applyAfterCommitOnly() {
+        when(notificationRepository.countByAccountIdAndChecked(ACCOUNT_ID, false)).thenReturn(3L);
+        counter.getCount(ACCOUNT_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        counter.increment(List.of(unread()));
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(3);
+
+        TransactionSynchronizationManager.initSynchronization();
+        counter.increment(List.of(unread()));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(4);
+    }
+
+    @DisplayName("세는 동안 커밋된 증가분은 잃지 않고 센 값에 이어서 더한다")
+    @Test
+    void incrementWhileCounting() throws Exception {
+        CountDownLatch counting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(notificationRepository.countByAccountIdAndChecked(ACCOUNT_ID, false)).thenAnswer(invocation -> {
+            counting.countDown();
+            release.await();
+            return 3L;
+        });
+
+        CompletableFuture<Long> read = CompletableFuture.supplyAsync(() -> counter.getCount(ACCOUNT_ID));
+        counting.await();
+        CompletableFuture<Void> increment = CompletableFuture.runAsync(() -> counter.increment(List.of(unread())));
+        release.countDown();
+
+        assertThat(read.get()).isEqualTo(3);
+        increment.get();
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(4);
+    }
+
+    @DisplayName("증감이 계속 와도 만료 시각을 미루지 않아 주기적으로 DB에서 다시 센다")
+    @Test
+    void recountEvenWhileActive() {
+        when(notificationRepository.countByAccountIdAndChecked(ACCOUNT_ID, false)).thenReturn(3L, 7L);
+        counter.getCount(ACCOUNT_ID);
+
+        Duration step = CaffeineUnreadNotificationCountStore.RECOUNT_AFTER.dividedBy(4);
+        for (int i = 0; i < 3; i++) {
+            nanos.addAndGet(step.toNanos());
+            counter.increment(List.of(unread()));
+        }
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(6);
+
+        nanos.addAndGet(step.toNanos());
+        assertThat(counter.getCount(ACCOUNT_ID)).isEqualTo(7);
+    }
+
+    private Notification unread() {
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        Notification notification = new Notification();
+        notification.setAccount(account);
+        return notification;
+    }
+}
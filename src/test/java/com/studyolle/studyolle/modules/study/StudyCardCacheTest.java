@@ -0,0 +1,87 @@
+package com.studyolle.studyolle.modules.study;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudyCardCacheTest {
+
+    StudyRepository studyRepository = mock(StudyRepository.class);
+
+    StudyCardCache studyCardCache = new StudyCardCache(studyRepository, new SimpleMeterRegistry());
+
+    @AfterEach
+    void afterEach() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @DisplayName("공개된 스터디가 바뀌면 커밋된 뒤에 비워서 다음 요청이 새 목록을 읽는다")
+    @Test
+    void evictAfterCommit() {
+        Study before = study("before", true);
+        Study after = study("after", true);
+        when(studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false))
+                .thenReturn(List.of(before), List.of(after, before));
+        assertThat(paths()).containsExactly("before");
+
+        TransactionSynchronizationManager.initSynchronization();
+        studyCardCache.evictIfPublished(after);
+        assertThat(paths()).containsExactly("before");
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(paths()).containsExactly("after", "before");
+    }
+
+    @DisplayName("롤백되면 캐시를 비우지 않는다")
+    @Test
+    void keepOnRollback() {
+        when(studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false))
+                .thenReturn(List.of(study("before", true)));
+        paths();
+
+        TransactionSynchronizationManager.initSynchronization();
+        studyCardCache.evictIfPublished(study("before", true));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        paths();
+        verify(studyRepository, times(1)).findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false);
+    }
+
+    @DisplayName("공개 전인 스터디가 바뀌어도 홈 화면 목록은 그대로 쓴다")
+    @Test
+    void ignoreDraft() {
+        when(studyRepository.findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false))
+                .thenReturn(List.of(study("before", true)));
+        paths();
+
+        studyCardCache.evictIfPublished(study("draft", false));
+
+        paths();
+        verify(studyRepository, times(1)).findFirst9ByPublishedAndClosedOrderByPublishedDateTimeDesc(true, false);
+    }
+
+    private List<String> paths() {
+        return studyCardCache.getRecentStudies().stream().map(StudyCard::getPath).collect(Collectors.toList());
+    }
+
+    private Study study(String path, boolean published) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setPublished(published);
+        return study;
+    }
+}
@@ -130,7 +130,7 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
                 .andExpect(redirectedUrl("/study/" + study.getPath() + "/members"));
 
         Account account = accountRepository.findByNickname("admin");
-        assertTrue(study.getMembers().contains(account));
+        assertTrue(studyRepository.existsByIdAndMembersId(study.getId(), account.getId()));
     }
 
     @Test
@@ -146,7 +146,7 @@ public class StudyControllerTest extends AbstractContainerBaseTest {
                 .andExpect(status().is3xxRedirection())
                 .andExpect(redirectedUrl("/study/" + study.getPath() + "/members"));
 
-        assertFalse(study.getMembers().contains(account));
+        assertFalse(studyRepository.existsByIdAndMembersId(study.getId(), account.getId()));
     }
 
 
@@ -0,0 +1,133 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("test")
+@SpringBootTest
+class StudyJoinConcurrencyTest extends AbstractContainerBaseTest {
+
+    static final int THREADS = 300;
+
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    Study study;
+    List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        for (int i = 0; i < THREADS; i++) {
+            Account account = new Account();
+            account.setNickname("join" + i);
+            account.setEmail("join" + i + "@email.com");
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+
+        study = new Study();
+        study.setPath("join-study");
+        study.setTitle("join study");
+        studyRepository.save(study);
+    }
+
+    @AfterEach
+    void afterEach() {
+        jdbcTemplate.update("DELETE FROM study_members WHERE study_id = ?", study.getId());
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+    }
+
+    @DisplayName("여러 스레드가 동시에 가입하고 탈퇴해도 memberCount와 멤버 수가 맞는다")
+    @Test
+    void concurrentJoinAndLeave() throws Exception {
+        //같은 계정이 두 번씩 가입을 눌러도 한 번만 센다.
+        runConcurrently(account -> studyService.addMember(study, account), 2);
+        assertEquals(THREADS, memberCount());
+        assertEquals(THREADS, memberRows());
+
+        runConcurrently(account -> studyService.removeMember(study, account), 2);
+        assertEquals(0, memberCount());
+        assertEquals(0, memberRows());
+    }
+
+    @DisplayName("가입하는 동안 스터디 정보를 고쳐 저장해도 memberCount를 덮어쓰지 않는다")
+    @Test
+    void concurrentJoinWhileEditing() throws Exception {
+        AtomicBoolean joining = new AtomicBoolean(true);
+        ExecutorService editor = Executors.newSingleThreadExecutor();
+        Future<?> edits = editor.submit(() -> {
+            for (int i = 0; joining.get(); i++) {
+                String title = "join study " + i;
+                transactionTemplate.executeWithoutResult(status -> studyService.updateStudyTitle(
+                        studyRepository.findById(study.getId()).orElseThrow(), title));
+            }
+            return null;
+        });
+        try {
+            runConcurrently(account -> studyService.addMember(study, account), 1);
+        } finally {
+            joining.set(false);
+            editor.shutdown();
+        }
+        edits.get();
+
+        assertEquals(THREADS, memberCount());
+        assertEquals(THREADS, memberRows());
+    }
+
+    private void runConcurrently(Consumer<Account> action, int repeat) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < repeat; i++) {
+                for (Account account : accounts) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        action.accept(account);
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int memberCount() {
+        return jdbcTemplate.queryForObject("SELECT member_count FROM study WHERE id = ?", Integer.class, study.getId());
+    }
+
+    private int memberRows() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM study_members WHERE study_id = ?", Integer.class, study.getId());
+    }
+}
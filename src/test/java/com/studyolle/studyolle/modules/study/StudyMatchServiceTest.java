@@ -0,0 +1,155 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.account.AccountService;
+import com.studyolle.studyolle.modules.tag.Tag;
+import com.studyolle.studyolle.modules.tag.TagRepository;
+import com.studyolle.studyolle.modules.zone.Zone;
+import com.studyolle.studyolle.modules.zone.ZoneRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@Transactional
+@SpringBootTest
+class StudyMatchServiceTest extends AbstractContainerBaseTest {
+
+    @Autowired StudyMatchRepository studyMatchRepository;
+    @Autowired StudyService studyService;
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountService accountService;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager entityManager;
+
+    Tag spring, jpa, go;
+    Zone seoul, busan;
+    Account springSeoul, jpaGoBusan, springBusan, both, nothing;
+    Study springJpaEverywhere, goSeoul, draft, closed;
+
+    @BeforeEach
+    void beforeEach() {
+        spring = tag("match-spring");
+        jpa = tag("match-jpa");
+        go = tag("match-go");
+        seoul = zone("MatchSeoul");
+        busan = zone("MatchBusan");
+
+        springSeoul = account("springSeoul", Set.of(spring), Set.of(seoul));
+        jpaGoBusan = account("jpaGoBusan", Set.of(jpa, go), Set.of(busan));
+        springBusan = account("springBusan", Set.of(spring), Set.of(busan));
+        //태그와 지역이 여러 개 겹쳐도 스터디마다 한 번만 추천한다.
+        both = account("both", Set.of(spring, jpa), Set.of(seoul, busan));
+        nothing = account("nothing", Set.of(), Set.of());
+
+        springJpaEverywhere = study("match-1", Set.of(spring, jpa), Set.of(seoul, busan), true);
+        goSeoul = study("match-2", Set.of(go), Set.of(seoul), true);
+        draft = study("match-3", Set.of(spring), Set.of(seoul), false);
+        closed = study("match-4", Set.of(spring), Set.of(seoul), true);
+        closed.close();
+        entityManager.flush();
+    }
+
+    @DisplayName("처음 채울 때는 공개 중인 스터디와 태그, 지역이 모두 하나 이상 겹치는 계정만 짝지어 한 번씩 넣는다")
+    @Test
+    void backfill() {
+        backfillAll();
+
+        assertThat(matches()).containsExactlyInAnyOrder(
+                match(springSeoul, springJpaEverywhere),
+                match(jpaGoBusan, springJpaEverywhere),
+                match(springBusan, springJpaEverywhere),
+                match(both, springJpaEverywhere));
+    }
+
+    @DisplayName("관심사나 스터디가 바뀔 때마다 고친 결과는 처음부터 다시 채운 결과와 같다")
+    @Test
+    void incrementalMatchesBackfill() {
+        backfillAll();
+
+        accountService.addZone(jpaGoBusan, seoul);
+        accountService.removeTag(springSeoul, spring);
+        studyService.publish(draft);
+        studyService.close(springJpaEverywhere);
+
+        List<String> incremental = matches();
+        assertThat(incremental).containsExactlyInAnyOrder(
+                match(jpaGoBusan, goSeoul),
+                match(both, draft));
+
+        backfillAll();
+        assertThat(matches()).containsExactlyInAnyOrderElementsOf(incremental);
+    }
+
+    @DisplayName("추천 목록은 공개된 시각이 최근인 스터디부터 보여 준다")
+    @Test
+    void recommendedStudiesByPublishedDateTime() {
+        accountService.addZone(both, seoul);
+        accountService.addTag(both, go);
+        studyService.publish(draft);
+
+        assertThat(studyMatchRepository.findStudyIdsByAccountId(both.getId(), PageRequest.of(0, 9)))
+                .containsExactly(draft.getId(), goSeoul.getId(), springJpaEverywhere.getId());
+    }
+
+    private void backfillAll() {
+        studyMatchRepository.deleteAllInBatch();
+        studyMatchRepository.insertAllMatches();
+    }
+
+    private List<String> matches() {
+        return jdbcTemplate.queryForList("SELECT account_id || ':' || study_id FROM study_match WHERE study_id IN (?, ?, ?, ?)",
+                String.class, springJpaEverywhere.getId(), goSeoul.getId(), draft.getId(), closed.getId());
+    }
+
+    private String match(Account account, Study study) {
+        return account.getId() + ":" + study.getId();
+    }
+
+    private Tag tag(String title) {
+        return tagRepository.save(Tag.builder().title(title).build());
+    }
+
+    private Zone zone(String city) {
+        return zoneRepository.save(Zone.builder().city(city).localNameOfCity(city).province("test").build());
+    }
+
+    private Account account(String nickname, Set<Tag> tags, Set<Zone> zones) {
+        Account account = new Account();
+        account.setNickname(nickname);
+        account.setEmail(nickname + "@email.com");
+        account.getTags().addAll(tags);
+        account.getZones().addAll(zones);
+        return accountRepository.save(account);
+    }
+
+    private Study study(String path, Set<Tag> tags, Set<Zone> zones, boolean published) {
+        Study study = new Study();
+        study.setPath(path);
+        study.setTitle(path);
+        study.getTags().addAll(tags);
+        study.getZones().addAll(zones);
+        studyRepository.save(study);
+        if (published) {
+            study.publish();
+        }
+        return study;
+    }
+}
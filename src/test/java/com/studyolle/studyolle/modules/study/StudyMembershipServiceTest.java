@@ -0,0 +1,123 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.UserAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StudyMembershipServiceTest {
+
+    static final Long STUDY_ID = 1L;
+    static final Long ACCOUNT_ID = 2L;
+
+    StudyRepository studyRepository = mock(StudyRepository.class);
+    StudyMembershipService studyMembershipService = new StudyMembershipService(studyRepository);
+
+    Study study;
+    UserAccount userAccount;
+
+    @BeforeEach
+    void beforeEach() {
+        study = new Study();
+        study.setId(STUDY_ID);
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        account.setNickname("admin");
+        account.setPassword("123");
+        userAccount = new UserAccount(account);
+    }
+
+    @AfterEach
+    void afterEach() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @DisplayName("스터디를 공개했고 인원 모집 중이고, 이미 멤버나 스터디 관리자가 아니라면 스터디 가입 가능")
+    @Test
+    void isJoinable() {
+        study.setPublished(true);
+        study.setRecruiting(true);
+
+        assertTrue(studyMembershipService.isJoinable(study, userAccount));
+    }
+
+    @DisplayName("스터디를 공개했고 인원 모집 중이더라도, 스터디 관리자는 스터디 가입이 불필요하다.")
+    @Test
+    void isJoinable_false_for_manager() {
+        study.setPublished(true);
+        study.setRecruiting(true);
+        when(studyRepository.existsByIdAndManagersId(STUDY_ID, ACCOUNT_ID)).thenReturn(true);
+
+        assertFalse(studyMembershipService.isJoinable(study, userAccount));
+    }
+
+    @DisplayName("스터디를 공개했고 인원 모집 중이더라도, 스터디 멤버는 스터디 재가입이 불필요하다.")
+    @Test
+    void isJoinable_false_for_member() {
+        study.setPublished(true);
+        study.setRecruiting(true);
+        when(studyRepository.existsByIdAndMembersId(STUDY_ID, ACCOUNT_ID)).thenReturn(true);
+
+        assertFalse(studyMembershipService.isJoinable(study, userAccount));
+    }
+
+    @DisplayName("스터디가 비공개거나 인원 모집 중이 아니면 스터디 가입이 불가능하다.")
+    @Test
+    void isJoinable_false_for_non_recruiting_study() {
+        study.setPublished(true);
+        study.setRecruiting(false);
+
+        assertFalse(studyMembershipService.isJoinable(study, userAccount));
+
+        study.setPublished(false);
+        study.setRecruiting(true);
+
+        assertFalse(studyMembershipService.isJoinable(study, userAccount));
+    }
+
+    @DisplayName("스터디 관리자인지 확인")
+    @Test
+    void isManager() {
+        when(studyRepository.existsByIdAndManagersId(STUDY_ID, ACCOUNT_ID)).thenReturn(true);
+
+        assertTrue(studyMembershipService.isManager(study, userAccount));
+        assertFalse(studyMembershipService.isMember(study, userAccount));
+    }
+
+    @DisplayName("스터디 멤버인지 확인")
+    @Test
+    void isMember() {
+        when(studyRepository.existsByIdAndMembersId(STUDY_ID, ACCOUNT_ID)).thenReturn(true);
+
+        assertTrue(studyMembershipService.isMember(study, userAccount));
+        assertFalse(studyMembershipService.isManager(study, userAccount));
+    }
+
+    @DisplayName("같은 요청 안에서는 한 번만 조회하고, 요청이 바뀌면 다시 조회한다.")
+    @Test
+    void memoizedPerRequest() {
+        when(studyRepository.existsByIdAndMembersId(STUDY_ID, ACCOUNT_ID)).thenReturn(true);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertTrue(studyMembershipService.isMember(study, userAccount));
+        assertTrue(studyMembershipService.isMember(study, userAccount));
+        assertTrue(studyMembershipService.isMember(STUDY_ID, ACCOUNT_ID));
+        verify(studyRepository, times(1)).existsByIdAndMembersId(STUDY_ID, ACCOUNT_ID);
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertTrue(studyMembershipService.isMember(study, userAccount));
+        verify(studyRepository, times(2)).existsByIdAndMembersId(STUDY_ID, ACCOUNT_ID);
+    }
+}
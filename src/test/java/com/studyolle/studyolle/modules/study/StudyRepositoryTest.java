@@ -0,0 +1,110 @@
+package com.studyolle.studyolle.modules.study;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ActiveProfiles("test")
+@Transactional
+@SpringBootTest
+class StudyRepositoryTest extends AbstractContainerBaseTest {
+
+    static final int STUDIES = 23;
+    static final int PAGE_SIZE = 5;
+
+    @Autowired StudyRepository studyRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDateTime publishedDateTime = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < STUDIES; i++) {
+            Study study = new Study();
+            study.setPath("paging-" + i);
+            study.setTitle("paging " + i);
+            study.setSearchText("paging study " + i);
+            study.setPublished(true);
+            //같은 값이 여러 개 있어야 id로 순서를 정하는 부분까지 확인할 수 있다.
+            study.setPublishedDateTime(publishedDateTime.plusMinutes(i % 4));
+            study.setMemberCount(i % 3);
+            studyRepository.save(study);
+        }
+        studyRepository.flush();
+        //예전에 만든 스터디처럼 memberCount가 비어 있는 행도 섞는다.
+        jdbcTemplate.update("UPDATE study SET member_count = NULL WHERE path IN ('paging-1', 'paging-7', 'paging-13')");
+    }
+
+    @DisplayName("인원순 정렬은 페이지 번호로 넘기든 커서로 넘기든 같은 순서로 나온다")
+    @Test
+    void memberCountOrderIsSameForOffsetAndCursor() {
+        assertThat(cursorOrder("memberCount")).containsExactlyElementsOf(offsetOrder("memberCount"));
+    }
+
+    @DisplayName("최신순 정렬은 페이지 번호로 넘기든 커서로 넘기든 같은 순서로 나온다")
+    @Test
+    void publishedDateTimeOrderIsSameForOffsetAndCursor() {
+        assertThat(cursorOrder("publishedDateTime")).containsExactlyElementsOf(offsetOrder("publishedDateTime"));
+    }
+
+    @DisplayName("첫 페이지를 번호로 받고 이어서 커서로 받아도 빠지거나 겹치는 스터디가 없다")
+    @Test
+    void switchFromOffsetToCursor() {
+        Page<Study> firstPage = studyRepository.findByKeyword("paging",
+                PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "memberCount")));
+        List<Long> ids = ids(firstPage.getContent());
+        Long last = ids.get(ids.size() - 1);
+        Slice<Study> slice;
+        do {
+            slice = studyRepository.findByKeywordAfter("paging", last, "memberCount", PAGE_SIZE);
+            ids.addAll(ids(slice.getContent()));
+            last = ids.get(ids.size() - 1);
+        } while (slice.hasNext());
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize(STUDIES).containsExactlyElementsOf(offsetOrder("memberCount"));
+    }
+
+    private List<Long> offsetOrder(String sortProperty) {
+        List<Long> ids = new ArrayList<>();
+        Page<Study> page;
+        int number = 0;
+        do {
+            page = studyRepository.findByKeyword("paging",
+                    PageRequest.of(number++, PAGE_SIZE, Sort.by(Sort.Direction.DESC, sortProperty)));
+            ids.addAll(ids(page.getContent()));
+        } while (page.hasNext());
+        return ids;
+    }
+
+    private List<Long> cursorOrder(String sortProperty) {
+        List<Long> ids = new ArrayList<>();
+        Long last = null;
+        Slice<Study> slice;
+        do {
+            slice = studyRepository.findByKeywordAfter("paging", last, sortProperty, PAGE_SIZE);
+            ids.addAll(ids(slice.getContent()));
+            last = ids.isEmpty() ? null : ids.get(ids.size() - 1);
+        } while (slice.hasNext());
+        return ids;
+    }
+
+    private List<Long> ids(List<Study> studies) {
+        return studies.stream().map(Study::getId).collect(Collectors.toList());
+    }
+}
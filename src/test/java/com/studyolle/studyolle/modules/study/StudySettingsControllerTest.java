@@ -12,12 +12,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithUserDetails;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -108,4 +110,30 @@ class StudySettingsControllerTest extends AbstractContainerBaseTest {
                 .andExpect(model().attributeExists("account"));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("스터디 이미지 수정 - 실패 (이미지 없음, 빈 파일, 지원하지 않는 형식)")
+    @WithUserDetails(value = "admin", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    void updateImage_fail() throws Exception {
+        Account account = accountRepository.findByNickname("admin");
+        Study study = studyFactory.createStudy("test-study", account);
+        String settingsBannerUrl = "/study/" + study.getPath() + "/settings/banner";
+
+        mockMvc.perform(multipart(settingsBannerUrl).with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl(settingsBannerUrl))
+                .andExpect(flash().attribute("message", "업로드할 이미지를 선택하세요."));
+
+        mockMvc.perform(multipart(settingsBannerUrl)
+                .file(new MockMultipartFile("image", "empty.png", "image/png", new byte[0]))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attribute("message", "업로드할 이미지를 선택하세요."));
+
+        mockMvc.perform(multipart(settingsBannerUrl)
+                .file(new MockMultipartFile("image", "a.png", "image/png", "<svg/>".getBytes()))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(flash().attributeExists("message"));
+    }
+
+}
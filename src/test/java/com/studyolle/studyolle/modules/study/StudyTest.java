@@ -1,84 +1,37 @@
 package com.studyolle.studyolle.modules.study;
 
-import com.studyolle.studyolle.modules.account.Account;
-import com.studyolle.studyolle.modules.account.UserAccount;
+import com.studyolle.studyolle.modules.tag.Tag;
+import com.studyolle.studyolle.modules.zone.Zone;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StudyTest {
 
     Study study;
-    Account account;
-    UserAccount userAccount;
 
     @BeforeEach
     void beforeEach() {
         study = new Study();
-        account = new Account();
-        account.setNickname("admin");
-        account.setPassword("123");
-        userAccount = new UserAccount(account);
-
-    }
-
-    @DisplayName("스터디를 공개했고 인원 모집 중이고, 이미 멤버나 스터디 관리자가 아니라면 스터디 가입 가능")
-    @Test
-    void isJoinable() {
-        study.setPublished(true);
-        study.setRecruiting(true);
-
-        assertTrue(study.isJoinable(userAccount));
-    }
-
-    @DisplayName("스터디를 공개했고 인원 모집 중이더라도, 스터디 관리자는 스터디 가입이 불필요하다.")
-    @Test
-    void isJoinable_false_for_manager() {
-        study.setPublished(true);
-        study.setRecruiting(true);
-        study.addManager(account);
-
-        assertFalse(study.isJoinable(userAccount));
-    }
-
-    @DisplayName("스터디를 공개했고 인원 모집 중이더라도, 스터디 멤버는 스터디 재가입이 불필요하다.")
-    @Test
-    void isJoinable_false_for_member() {
-        study.setPublished(true);
-        study.setRecruiting(true);
-        study.addMember(account);
-        assertFalse(study.isJoinable(userAccount));
-    }
-
-    @DisplayName("스터디가 비공개거나 인원 모집 중이 아니면 스터디 가입이 불가능하다.")
-    @Test
-    void isJoinable_false_for_non_recruiting_study() {
-        study.setPublished(true);
-        study.setRecruiting(false);
-
-        assertFalse(study.isJoinable(userAccount));
-
-        study.setPublished(false);
-        study.setRecruiting(true);
-
-        assertFalse(study.isJoinable(userAccount));
-    }
-
-    @DisplayName("스터디 관리자인지 확인")
-    @Test
-    void isManager() {
-        study.addManager(account);
-        assertTrue(study.isManager(userAccount));
     }
 
-    @DisplayName("스터디 멤버인지 확인")
+    @DisplayName("검색 색인에는 제목, 짧은 소개, 태그, 지역 이름이 소문자로 들어간다.")
     @Test
-    void isMember() {
-        study.addMember(account);
-        assertTrue(study.isMember(userAccount));
+    void updateSearchText() {
+        study.setTitle("Spring Boot");
+        study.setShortDescription("JPA 스터디");
+        study.getTags().add(Tag.builder().title("Java").build());
+        study.getZones().add(Zone.builder().city("Seoul").localNameOfCity("서울특별시").build());
+
+        study.updateSearchText();
+
+        assertTrue(study.getSearchText().contains("spring boot"));
+        assertTrue(study.getSearchText().contains("jpa 스터디"));
+        assertTrue(study.getSearchText().contains("java"));
+        assertTrue(study.getSearchText().contains("seoul"));
+        assertTrue(study.getSearchText().contains("서울특별시"));
     }
 
 }
\ No newline at end of file
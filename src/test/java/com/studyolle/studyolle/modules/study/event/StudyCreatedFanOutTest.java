@@ -0,0 +1,154 @@
+package com.studyolle.studyolle.modules.study.event;
+
+import com.studyolle.studyolle.infra.AbstractContainerBaseTest;
+import com.studyolle.studyolle.infra.mail.EmailService;
+import com.studyolle.studyolle.infra.mail.MailTemplates;
+import com.studyolle.studyolle.modules.account.Account;
+import com.studyolle.studyolle.modules.account.AccountRepository;
+import com.studyolle.studyolle.modules.notification.DigestItemRepository;
+import com.studyolle.studyolle.modules.notification.NotificationFanOut;
+import com.studyolle.studyolle.modules.notification.NotificationFanOutRepository;
+import com.studyolle.studyolle.modules.notification.NotificationRepository;
+import com.studyolle.studyolle.modules.notification.NotificationType;
+import com.studyolle.studyolle.modules.notification.NotificationWriter;
+import com.studyolle.studyolle.modules.study.Study;
+import com.studyolle.studyolle.modules.study.StudyRepository;
+import com.studyolle.studyolle.modules.tag.Tag;
+import com.studyolle.studyolle.modules.tag.TagRepository;
+import com.studyolle.studyolle.modules.zone.Zone;
+import com.studyolle.studyolle.modules.zone.ZoneRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+
+//청크마다 새 트랜잭션으로 커밋하므로 테스트 트랜잭션으로 묶지 않고, 발송은 호출한 스레드에서 바로 돌린다.
+@ActiveProfiles("test")
+@SpringBootTest(properties = "app.scheduling.enabled=false")
+class StudyCreatedFanOutTest extends AbstractContainerBaseTest {
+
+    static final int ACCOUNTS = StudyCreatedFanOut.CHUNK_SIZE * 2 + 200;
+
+    @Autowired StudyRepository studyRepository;
+    @Autowired AccountRepository accountRepository;
+    @Autowired TagRepository tagRepository;
+    @Autowired ZoneRepository zoneRepository;
+    @Autowired NotificationWriter notificationWriter;
+    @Autowired NotificationRepository notificationRepository;
+    @Autowired NotificationFanOutRepository notificationFanOutRepository;
+    @Autowired DigestItemRepository digestItemRepository;
+    @Autowired MailTemplates mailTemplates;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    EmailService emailService = mock(EmailService.class);
+
+    StudyCreatedFanOut studyCreatedFanOut;
+    Study study;
+    Tag tag;
+    Zone zone;
+    List<Account> accounts = new ArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        tag = tagRepository.save(Tag.builder().title("fan-out").build());
+        zone = zoneRepository.save(Zone.builder().city("FanOut").localNameOfCity("FanOut").province("test").build());
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setNickname("fanout" + i);
+            account.setEmail("fanout" + i + "@email.com");
+            account.setStudyCreatedByEmail(true);
+            account.getTags().add(tag);
+            account.getZones().add(zone);
+            accounts.add(account);
+        }
+        accountRepository.saveAll(accounts);
+
+        study = new Study();
+        study.setPath("fan-out-study");
+        study.setTitle("fan-out study");
+        study.getTags().add(tag);
+        study.getZones().add(zone);
+        study.publish();
+        studyRepository.save(study);
+
+        studyCreatedFanOut = new StudyCreatedFanOut(studyRepository, accountRepository, notificationWriter,
+                notificationFanOutRepository, digestItemRepository, emailService, mailTemplates, Runnable::run,
+                transactionManager);
+    }
+
+    @AfterEach
+    void afterEach() {
+        notificationRepository.deleteAllInBatch();
+        notificationFanOutRepository.deleteAllInBatch();
+        studyRepository.deleteAll();
+        accountRepository.deleteAll();
+        tagRepository.delete(tag);
+        zoneRepository.delete(zone);
+    }
+
+    @DisplayName("중간 청크에서 실패하면 커밋된 청크까지는 남기고, 다시 시작하면 체크포인트 다음 계정부터 한 번씩만 보낸다")
+    @Test
+    void resumeFromCheckpoint() {
+        NotificationFanOut fanOut = new NotificationFanOut();
+        fanOut.setNotificationType(NotificationType.STUDY_CREATED);
+        fanOut.setSourceId(study.getId());
+        fanOut.setCreatedDateTime(LocalDateTime.now());
+        notificationFanOutRepository.save(fanOut);
+
+        //두 번째 청크의 메일 발송에서 실패해 그 청크의 알림과 체크포인트가 함께 롤백된다.
+        String failingEmail = accounts.get(StudyCreatedFanOut.CHUNK_SIZE + 1).getEmail();
+        doThrow(new IllegalStateException("smtp down")).when(emailService)
+                .sendEmail(argThat(emailMessage -> emailMessage != null && failingEmail.equals(emailMessage.getTo())));
+
+        assertThatThrownBy(studyCreatedFanOut::resumeIncompleteFanOuts).isInstanceOf(IllegalStateException.class);
+
+        NotificationFanOut stopped = notificationFanOutRepository.findById(fanOut.getId()).orElseThrow();
+        assertThat(stopped.isCompleted()).isFalse();
+        assertThat(stopped.getLastAccountId()).isEqualTo(accounts.get(StudyCreatedFanOut.CHUNK_SIZE - 1).getId());
+        assertThat(notificationRepository.count()).isEqualTo(StudyCreatedFanOut.CHUNK_SIZE);
+
+        reset(emailService);
+        studyCreatedFanOut.resumeIncompleteFanOuts();
+
+        NotificationFanOut completed = notificationFanOutRepository.findById(fanOut.getId()).orElseThrow();
+        assertThat(completed.isCompleted()).isTrue();
+        assertThat(completed.getLastAccountId()).isEqualTo(accounts.get(ACCOUNTS - 1).getId());
+        assertThat(notificationRepository.count()).isEqualTo(ACCOUNTS);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(DISTINCT account_id) FROM notification", Long.class))
+                .isEqualTo(ACCOUNTS);
+    }
+
+    @DisplayName("이미 시작한 스터디는 팬아웃을 다시 만들지 않는다")
+    @Test
+    void startOnce() {
+        NotificationFanOut fanOut = new NotificationFanOut();
+        fanOut.setNotificationType(NotificationType.STUDY_CREATED);
+        fanOut.setSourceId(study.getId());
+        fanOut.setCreatedDateTime(LocalDateTime.now());
+        fanOut.checkpoint(accounts.get(ACCOUNTS - 1).getId(), true);
+        notificationFanOutRepository.save(fanOut);
+
+        studyCreatedFanOut.start(study.getId());
+        studyCreatedFanOut.resumeIncompleteFanOuts();
+
+        assertThat(notificationFanOutRepository.count()).isEqualTo(1);
+        assertThat(notificationRepository.count()).isZero();
+    }
+}